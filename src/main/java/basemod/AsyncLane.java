@@ -0,0 +1,72 @@
+package basemod;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+// AsyncLane - runs ThreadSafeSubscriber hooks on a small worker pool
+//
+// the pool and its queue are bounded; once the queue is full work runs on
+// the publishing thread as it did before. work posted with runOnMainThread
+// is run by BaseMod.publishPostUpdate on the next frame
+public class AsyncLane {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	private static final int WORKERS = 2;
+	private static final int QUEUE_SIZE = 64;
+
+	private static final ConcurrentLinkedQueue<Runnable> completions = new ConcurrentLinkedQueue<>();
+	private static ThreadPoolExecutor executor = null;
+
+	private AsyncLane() {}
+
+	// submit - runs task on a worker thread
+	public static void submit(Runnable task) {
+		getExecutor().execute(() -> {
+			try {
+				task.run();
+			} catch (Exception e) {
+				logger.error("async subscriber failed", e);
+			}
+		});
+	}
+
+	// runOnMainThread - queues task to run on the main thread next post update
+	public static void runOnMainThread(Runnable task) {
+		completions.add(task);
+	}
+
+	// drain - runs every queued main thread task, called by BaseMod each frame
+	public static void drain() {
+		Runnable task;
+		while ((task = completions.poll()) != null) {
+			try {
+				task.run();
+			} catch (Exception e) {
+				logger.error("async completion failed", e);
+			}
+		}
+	}
+
+	private static ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			AtomicInteger count = new AtomicInteger();
+			executor = new ThreadPoolExecutor(WORKERS, WORKERS, 30, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(QUEUE_SIZE),
+					r -> {
+						Thread thread = new Thread(r, "BaseMod-async-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					},
+					new ThreadPoolExecutor.CallerRunsPolicy());
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+}
@@ -0,0 +1,162 @@
+package basemod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+
+// AsyncTextureLoader - decodes images on worker threads and uploads them on
+// the GL thread
+//
+// load() has to be called from the GL thread; the callback runs on the GL
+// thread as well, from update(), which BaseMod calls every frame and which
+// stops uploading once uploadBudgetNanos is used up (at least one upload
+// always happens). callers draw getPlaceholder() until their callback ran.
+// with the loader disabled load() decodes and uploads right away
+public class AsyncTextureLoader {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	private static final int WORKERS = 2;
+
+	// time per frame that may be spent creating textures
+	public static long uploadBudgetNanos = 2_000_000L;
+
+	private static boolean enabled = true;
+
+	private static ExecutorService decoder = null;
+	private static final ConcurrentLinkedQueue<Decoded> decoded = new ConcurrentLinkedQueue<>();
+	private static final HashMap<String, ArrayList<Consumer<Texture>>> pending = new HashMap<>();
+	private static Texture placeholder = null;
+
+	private static class Decoded {
+		final String path;
+		final Pixmap pixmap;
+		final Exception error;
+
+		Decoded(String path, Pixmap pixmap, Exception error) {
+			this.path = path;
+			this.pixmap = pixmap;
+			this.error = error;
+		}
+	}
+
+	private AsyncTextureLoader() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		AsyncTextureLoader.enabled = enabled;
+	}
+
+	// pending - number of images requested but not uploaded yet
+	public static int pending() {
+		return pending.size();
+	}
+
+	// getPlaceholder - fully transparent 1x1 texture to draw while loading
+	public static Texture getPlaceholder() {
+		if (placeholder == null) {
+			Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+			pixmap.setColor(0.0F, 0.0F, 0.0F, 0.0F);
+			pixmap.fill();
+			placeholder = new Texture(pixmap);
+			pixmap.dispose();
+		}
+		return placeholder;
+	}
+
+	// load - onLoaded gets the texture, or null if the image could not be
+	// loaded; requests for a path that is still loading share one texture
+	public static void load(String path, Consumer<Texture> onLoaded) {
+		FileHandle file = Gdx.files.internal(path);
+		loadGenerated(path, () -> new Pixmap(file), onLoaded);
+	}
+
+	// loadGenerated - like load, but the pixmap comes from generator, which
+	// runs on a worker thread; key identifies the result so requests that are
+	// still pending can share it and must not collide with an image path
+	public static void loadGenerated(String key, Supplier<Pixmap> generator, Consumer<Texture> onLoaded) {
+		ArrayList<Consumer<Texture>> callbacks = pending.get(key);
+		if (callbacks != null) {
+			callbacks.add(onLoaded);
+			return;
+		}
+		callbacks = new ArrayList<>();
+		callbacks.add(onLoaded);
+		pending.put(key, callbacks);
+
+		if (!enabled) {
+			upload(decode(key, generator));
+			return;
+		}
+		getDecoder().execute(() -> decoded.add(decode(key, generator)));
+	}
+
+	// update - uploads decoded images until the frame budget is used up
+	public static void update() {
+		if (decoded.isEmpty()) {
+			return;
+		}
+
+		long deadline = System.nanoTime() + uploadBudgetNanos;
+		Decoded next;
+		while ((next = decoded.poll()) != null) {
+			upload(next);
+			if (System.nanoTime() >= deadline) {
+				break;
+			}
+		}
+	}
+
+	private static Decoded decode(String path, Supplier<Pixmap> generator) {
+		try {
+			return new Decoded(path, generator.get(), null);
+		} catch (Exception e) {
+			return new Decoded(path, null, e);
+		}
+	}
+
+	private static void upload(Decoded image) {
+		ArrayList<Consumer<Texture>> callbacks = pending.remove(image.path);
+		Texture texture = null;
+		if (image.pixmap != null) {
+			texture = new Texture(image.pixmap);
+			image.pixmap.dispose();
+		} else {
+			logger.error("could not load texture " + image.path, image.error);
+		}
+		if (callbacks == null) {
+			return;
+		}
+		for (Consumer<Texture> callback : callbacks) {
+			callback.accept(texture);
+		}
+	}
+
+	private static ExecutorService getDecoder() {
+		if (decoder == null) {
+			AtomicInteger count = new AtomicInteger();
+			decoder = Executors.newFixedThreadPool(WORKERS, r -> {
+				Thread thread = new Thread(r, "BaseMod-texture-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return decoder;
+	}
+}
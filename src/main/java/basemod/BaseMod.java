@@ -80,6 +80,7 @@ import com.megacrit.cardcrawl.unlock.UnlockTracker;
 import basemod.abstracts.CustomCard;
 import basemod.abstracts.CustomUnlockBundle;
 import basemod.helpers.RelicType;
+import basemod.interfaces.CoalescedPowersModifiedSubscriber;
 import basemod.interfaces.EditCardsSubscriber;
 import basemod.interfaces.EditCharactersSubscriber;
 import basemod.interfaces.EditKeywordsSubscriber;
@@ -119,6 +120,7 @@ import basemod.interfaces.RenderSubscriber;
 import basemod.interfaces.SetUnlocksSubscriber;
 import basemod.interfaces.StartActSubscriber;
 import basemod.interfaces.StartGameSubscriber;
+import basemod.interfaces.ThreadSafeSubscriber;
 import basemod.interfaces.PostDeathSubscriber;
 import org.clapper.util.classutil.*;
 
@@ -137,42 +139,50 @@ public class BaseMod {
 	
 	private static ArrayList<ModBadge> modBadges;
 	
-	private static ArrayList<ISubscriber> toRemove;
-	private static ArrayList<StartActSubscriber> startActSubscribers;
-	private static ArrayList<PostCampfireSubscriber> postCampfireSubscribers;
-	private static ArrayList<PostDrawSubscriber> postDrawSubscribers;
-	private static ArrayList<PostExhaustSubscriber> postExhaustSubscribers;
-	private static ArrayList<OnCardUseSubscriber> onCardUseSubscribers;
-	private static ArrayList<PostDungeonInitializeSubscriber> postDungeonInitializeSubscribers;
-	private static ArrayList<PostEnergyRechargeSubscriber> postEnergyRechargeSubscribers;
-	private static ArrayList<PostInitializeSubscriber> postInitializeSubscribers;
-	private static ArrayList<PreMonsterTurnSubscriber> preMonsterTurnSubscribers;
-	private static ArrayList<RenderSubscriber> renderSubscribers;
-	private static ArrayList<PreRenderSubscriber> preRenderSubscribers;
-	private static ArrayList<PostRenderSubscriber> postRenderSubscribers;
-	private static ArrayList<ModelRenderSubscriber> modelRenderSubscribers;
-	private static ArrayList<PreStartGameSubscriber> preStartGameSubscribers;
-	private static ArrayList<StartGameSubscriber> startGameSubscribers;
-	private static ArrayList<PreUpdateSubscriber> preUpdateSubscribers;
-	private static ArrayList<PostUpdateSubscriber> postUpdateSubscribers;
-	private static ArrayList<PostCreateStartingDeckSubscriber> postCreateStartingDeckSubscribers;
-	private static ArrayList<PostCreateStartingRelicsSubscriber> postCreateStartingRelicsSubscribers;
-	private static ArrayList<PostCreateShopRelicSubscriber> postCreateShopRelicSubscribers;
-	private static ArrayList<PostCreateShopPotionSubscriber> postCreateShopPotionSubscribers;
-	private static ArrayList<EditCardsSubscriber> editCardsSubscribers;
-	private static ArrayList<EditRelicsSubscriber> editRelicsSubscribers;
-	private static ArrayList<EditCharactersSubscriber> editCharactersSubscribers;
-	private static ArrayList<EditStringsSubscriber> editStringsSubscribers;
-	private static ArrayList<EditKeywordsSubscriber> editKeywordsSubscribers;
-	private static ArrayList<PostBattleSubscriber> postBattleSubscribers;
-	private static ArrayList<SetUnlocksSubscriber> setUnlocksSubscribers;
-	private static ArrayList<PostPotionUseSubscriber> postPotionUseSubscribers;
-	private static ArrayList<PrePotionUseSubscriber> prePotionUseSubscribers;
-	private static ArrayList<PotionGetSubscriber> potionGetSubscribers;
-	private static ArrayList<RelicGetSubscriber> relicGetSubscribers;
-	private static ArrayList<PostPowerApplySubscriber> postPowerApplySubscribers;
-	private static ArrayList<OnPowersModifiedSubscriber> onPowersModifiedSubscribers;
-	private static ArrayList<PostDeathSubscriber> postDeathSubscribers;
+	private static HashMap<Class<? extends ISubscriber>, SubscriberList<?>> subscriberLists;
+	private static HashMap<Class<?>, SubscriberList<?>[]> subscriberListsByClass;
+	private static HashMap<SubscriberList<?>, Set<ISubscriber>> toRemove;
+	private static EnumMap<Subscription.Scope, ArrayList<Subscription>> scopedSubscriptions;
+	private static SubscriberList<StartActSubscriber> startActSubscribers;
+	private static SubscriberList<PostCampfireSubscriber> postCampfireSubscribers;
+	private static SubscriberList<PostDrawSubscriber> postDrawSubscribers;
+	private static SubscriberList<PostExhaustSubscriber> postExhaustSubscribers;
+	private static SubscriberList<OnCardUseSubscriber> onCardUseSubscribers;
+	private static SubscriberList<PostDungeonInitializeSubscriber> postDungeonInitializeSubscribers;
+	private static SubscriberList<PostEnergyRechargeSubscriber> postEnergyRechargeSubscribers;
+	private static SubscriberList<PostInitializeSubscriber> postInitializeSubscribers;
+	private static SubscriberList<PreMonsterTurnSubscriber> preMonsterTurnSubscribers;
+	private static SubscriberList<RenderSubscriber> renderSubscribers;
+	private static SubscriberList<PreRenderSubscriber> preRenderSubscribers;
+	private static SubscriberList<PostRenderSubscriber> postRenderSubscribers;
+	private static SubscriberList<ModelRenderSubscriber> modelRenderSubscribers;
+	private static SubscriberList<PreStartGameSubscriber> preStartGameSubscribers;
+	private static SubscriberList<StartGameSubscriber> startGameSubscribers;
+	private static SubscriberList<PreUpdateSubscriber> preUpdateSubscribers;
+	private static SubscriberList<PostUpdateSubscriber> postUpdateSubscribers;
+	private static SubscriberList<PostCreateStartingDeckSubscriber> postCreateStartingDeckSubscribers;
+	private static SubscriberList<PostCreateStartingRelicsSubscriber> postCreateStartingRelicsSubscribers;
+	private static SubscriberList<PostCreateShopRelicSubscriber> postCreateShopRelicSubscribers;
+	private static SubscriberList<PostCreateShopPotionSubscriber> postCreateShopPotionSubscribers;
+	private static SubscriberList<EditCardsSubscriber> editCardsSubscribers;
+	private static SubscriberList<EditRelicsSubscriber> editRelicsSubscribers;
+	private static SubscriberList<EditCharactersSubscriber> editCharactersSubscribers;
+	private static SubscriberList<EditStringsSubscriber> editStringsSubscribers;
+	private static SubscriberList<EditKeywordsSubscriber> editKeywordsSubscribers;
+	private static SubscriberList<PostBattleSubscriber> postBattleSubscribers;
+	private static SubscriberList<SetUnlocksSubscriber> setUnlocksSubscribers;
+	private static SubscriberList<PostPotionUseSubscriber> postPotionUseSubscribers;
+	private static SubscriberList<PrePotionUseSubscriber> prePotionUseSubscribers;
+	private static SubscriberList<PotionGetSubscriber> potionGetSubscribers;
+	private static SubscriberList<RelicGetSubscriber> relicGetSubscribers;
+	private static SubscriberList<PostPowerApplySubscriber> postPowerApplySubscribers;
+	private static SubscriberList<OnPowersModifiedSubscriber> onPowersModifiedSubscribers;
+	private static SubscriberList<PostDeathSubscriber> postDeathSubscribers;
+	private static SubscriberList<CoalescedPowersModifiedSubscriber> coalescedPowersModifiedSubscribers;
+
+	private static boolean powersModifiedThisFrame = false;
+	private static Set<AbstractCreature> creaturesModifiedThisFrame = Collections.newSetFromMap(new IdentityHashMap<>());
+	private static Set<AbstractPower> powersAppliedThisFrame = Collections.newSetFromMap(new IdentityHashMap<>());
 	
 	private static ArrayList<AbstractCard> redToAdd;
 	private static ArrayList<String> redToRemove;
@@ -212,32 +222,6 @@ public class BaseMod {
 
 	@SuppressWarnings("rawtypes")
 	private static HashMap<String, Class> powerMap;
-	
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorBgColorMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorBackColorMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorFrameColorMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorFrameOutlineColorMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorDescBoxColorMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorTrailVfxMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Color> colorGlowColorMap;
-	private static HashMap<String, Integer> colorCardCountMap;
-	private static HashMap<String, Integer> colorCardSeenCountMap;
-	private static HashMap<String, String> colorAttackBgMap;
-	private static HashMap<String, String> colorSkillBgMap;
-	private static HashMap<String, String> colorPowerBgMap;
-	private static HashMap<String, String> colorEnergyOrbMap;
-	private static HashMap<String, String> colorAttackBgPortraitMap;
-	private static HashMap<String, String> colorSkillBgPortraitMap;
-	private static HashMap<String, String> colorPowerBgPortraitMap;
-	private static HashMap<String, String> colorEnergyOrbPortraitMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorAttackBgTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorSkillBgTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorPowerBgTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorEnergyOrbTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorAttackBgPortraitTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorSkillBgPortraitTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorPowerBgPortraitTextureMap;
-	private static HashMap<String, com.badlogic.gdx.graphics.Texture> colorEnergyOrbPortraitTextureMap;
 
 	private static HashMap<AbstractPlayer.PlayerClass, HashMap<Integer, CustomUnlockBundle>> unlockBundles;
 	
@@ -381,7 +365,6 @@ public class BaseMod {
 		initializeSubscriptions();
 		initializeCardLists();
 		initializeCharacterMap();
-		initializeColorMap();
 		initializeRelicPool();
 		initializeUnlocks();
 		initializePotionMap();
@@ -473,42 +456,49 @@ public class BaseMod {
 
 	// initializeSubscriptions -
 	private static void initializeSubscriptions() {
-		toRemove = new ArrayList<>();
-		startActSubscribers = new ArrayList<>();
-		postCampfireSubscribers = new ArrayList<>();
-		postDrawSubscribers = new ArrayList<>();
-		postExhaustSubscribers = new ArrayList<>();
-		onCardUseSubscribers = new ArrayList<>();
-		postDungeonInitializeSubscribers = new ArrayList<>();
-		postEnergyRechargeSubscribers = new ArrayList<>();
-		postInitializeSubscribers = new ArrayList<>();
-		preMonsterTurnSubscribers = new ArrayList<>();
-		renderSubscribers = new ArrayList<>();
-		preRenderSubscribers = new ArrayList<>();
-		postRenderSubscribers = new ArrayList<>();
-		modelRenderSubscribers = new ArrayList<>();
-		preStartGameSubscribers = new ArrayList<>();
-		startGameSubscribers = new ArrayList<>();
-		preUpdateSubscribers = new ArrayList<>();
-		postUpdateSubscribers = new ArrayList<>();
-		postCreateStartingDeckSubscribers = new ArrayList<>();
-		postCreateStartingRelicsSubscribers = new ArrayList<>();
-		postCreateShopRelicSubscribers = new ArrayList<>();
-		postCreateShopPotionSubscribers = new ArrayList<>();
-		editCardsSubscribers = new ArrayList<>();
-		editRelicsSubscribers = new ArrayList<>();
-		editCharactersSubscribers = new ArrayList<>();
-		editStringsSubscribers = new ArrayList<>();
-		editKeywordsSubscribers = new ArrayList<>();
-		postBattleSubscribers = new ArrayList<>();
-		setUnlocksSubscribers = new ArrayList<>();
-		postPotionUseSubscribers = new ArrayList<>();
-		prePotionUseSubscribers = new ArrayList<>();
-		potionGetSubscribers = new ArrayList<>();
-		relicGetSubscribers = new ArrayList<>();
-		postPowerApplySubscribers = new ArrayList<>();
-		onPowersModifiedSubscribers = new ArrayList<>();
-		postDeathSubscribers = new ArrayList<>();
+		subscriberLists = new HashMap<>();
+		subscriberListsByClass = new HashMap<>();
+		toRemove = new HashMap<>();
+		scopedSubscriptions = new EnumMap<>(Subscription.Scope.class);
+		scopedSubscriptions.put(Subscription.Scope.COMBAT, new ArrayList<>());
+		scopedSubscriptions.put(Subscription.Scope.ACT, new ArrayList<>());
+		scopedSubscriptions.put(Subscription.Scope.RUN, new ArrayList<>());
+		startActSubscribers = newSubscriberList(StartActSubscriber.class);
+		postCampfireSubscribers = newSubscriberList(PostCampfireSubscriber.class);
+		postDrawSubscribers = newSubscriberList(PostDrawSubscriber.class);
+		postExhaustSubscribers = newSubscriberList(PostExhaustSubscriber.class);
+		onCardUseSubscribers = newSubscriberList(OnCardUseSubscriber.class);
+		postDungeonInitializeSubscribers = newSubscriberList(PostDungeonInitializeSubscriber.class);
+		postEnergyRechargeSubscribers = newSubscriberList(PostEnergyRechargeSubscriber.class);
+		postInitializeSubscribers = newSubscriberList(PostInitializeSubscriber.class);
+		preMonsterTurnSubscribers = newSubscriberList(PreMonsterTurnSubscriber.class);
+		renderSubscribers = newSubscriberList(RenderSubscriber.class);
+		preRenderSubscribers = newSubscriberList(PreRenderSubscriber.class);
+		postRenderSubscribers = newSubscriberList(PostRenderSubscriber.class);
+		modelRenderSubscribers = newSubscriberList(ModelRenderSubscriber.class);
+		preStartGameSubscribers = newSubscriberList(PreStartGameSubscriber.class);
+		startGameSubscribers = newSubscriberList(StartGameSubscriber.class);
+		preUpdateSubscribers = newSubscriberList(PreUpdateSubscriber.class);
+		postUpdateSubscribers = newSubscriberList(PostUpdateSubscriber.class);
+		postCreateStartingDeckSubscribers = newSubscriberList(PostCreateStartingDeckSubscriber.class);
+		postCreateStartingRelicsSubscribers = newSubscriberList(PostCreateStartingRelicsSubscriber.class);
+		postCreateShopRelicSubscribers = newSubscriberList(PostCreateShopRelicSubscriber.class);
+		postCreateShopPotionSubscribers = newSubscriberList(PostCreateShopPotionSubscriber.class);
+		editCardsSubscribers = newSubscriberList(EditCardsSubscriber.class);
+		editRelicsSubscribers = newSubscriberList(EditRelicsSubscriber.class);
+		editCharactersSubscribers = newSubscriberList(EditCharactersSubscriber.class);
+		editStringsSubscribers = newSubscriberList(EditStringsSubscriber.class);
+		editKeywordsSubscribers = newSubscriberList(EditKeywordsSubscriber.class);
+		postBattleSubscribers = newSubscriberList(PostBattleSubscriber.class);
+		setUnlocksSubscribers = newSubscriberList(SetUnlocksSubscriber.class);
+		postPotionUseSubscribers = newSubscriberList(PostPotionUseSubscriber.class);
+		prePotionUseSubscribers = newSubscriberList(PrePotionUseSubscriber.class);
+		potionGetSubscribers = newSubscriberList(PotionGetSubscriber.class);
+		relicGetSubscribers = newSubscriberList(RelicGetSubscriber.class);
+		postPowerApplySubscribers = newSubscriberList(PostPowerApplySubscriber.class);
+		onPowersModifiedSubscribers = newSubscriberList(OnPowersModifiedSubscriber.class);
+		postDeathSubscribers = newSubscriberList(PostDeathSubscriber.class);
+		coalescedPowersModifiedSubscribers = newSubscriberList(CoalescedPowersModifiedSubscriber.class);
 	}
 
 	// initializeCardLists -
@@ -538,35 +528,6 @@ public class BaseMod {
 		playerStatsMap = new HashMap<>();
 	}
 
-	// initializeColorMap -
-	private static void initializeColorMap() {
-		colorBgColorMap = new HashMap<>();
-		colorBackColorMap = new HashMap<>();
-		colorFrameColorMap = new HashMap<>();
-		colorFrameOutlineColorMap = new HashMap<>();
-		colorDescBoxColorMap = new HashMap<>();
-		colorTrailVfxMap = new HashMap<>();
-		colorGlowColorMap = new HashMap<>();
-		colorCardCountMap = new HashMap<>();
-		colorCardSeenCountMap = new HashMap<>();
-		colorAttackBgMap = new HashMap<>();
-		colorSkillBgMap = new HashMap<>();
-		colorPowerBgMap = new HashMap<>();
-		colorEnergyOrbMap = new HashMap<>();
-		colorAttackBgPortraitMap = new HashMap<>();
-		colorSkillBgPortraitMap = new HashMap<>();
-		colorPowerBgPortraitMap = new HashMap<>();
-		colorEnergyOrbPortraitMap = new HashMap<>();
-		colorAttackBgTextureMap = new HashMap<>();
-		colorSkillBgTextureMap = new HashMap<>();
-		colorPowerBgTextureMap = new HashMap<>();
-		colorEnergyOrbTextureMap = new HashMap<>();
-		colorAttackBgPortraitTextureMap = new HashMap<>();
-		colorSkillBgPortraitTextureMap = new HashMap<>();
-		colorPowerBgPortraitTextureMap = new HashMap<>();
-		colorEnergyOrbPortraitTextureMap = new HashMap<>();
-	}
-	
 	private static void initializeRelicPool() {
 		customRelicPools = new HashMap<>();
 		customRelicLists = new HashMap<>();
@@ -825,6 +786,7 @@ public class BaseMod {
 
 	public static void addDynamicVariable(DynamicVariable dv) {
 		cardDynamicVariableMap.put(dv.key(), dv);
+		DescriptionPlan.clear();
 	}
 	
 	/**
@@ -1012,6 +974,7 @@ public class BaseMod {
 			GameDictionary.keywords.put(name, description);
 			GameDictionary.parentWord.put(name, parent);
 		}
+		DescriptionLayoutCache.clear();
 	}
 	
 	//
@@ -1267,23 +1230,26 @@ public class BaseMod {
 			com.badlogic.gdx.graphics.Color trailVfxColor, com.badlogic.gdx.graphics.Color glowColor, String attackBg,
 			String skillBg, String powerBg, String energyOrb, String attackBgPortrait, String skillBgPortrait,
 			String powerBgPortrait, String energyOrbPortrait) {
-		colorBgColorMap.put(color, bgColor);
-		colorBackColorMap.put(color, backColor);
-		colorFrameColorMap.put(color, frameColor);
-		colorFrameOutlineColorMap.put(color, frameOutlineColor);
-		colorDescBoxColorMap.put(color, descBoxColor);
-		colorTrailVfxMap.put(color, trailVfxColor);
-		colorGlowColorMap.put(color, glowColor);
-		colorCardCountMap.put(color, 0);
-		colorCardSeenCountMap.put(color, 0);
-		colorAttackBgMap.put(color, attackBg);
-		colorSkillBgMap.put(color, skillBg);
-		colorPowerBgMap.put(color, powerBg);
-		colorEnergyOrbMap.put(color, energyOrb);
-		colorAttackBgPortraitMap.put(color, attackBgPortrait);
-		colorSkillBgPortraitMap.put(color, skillBgPortrait);
-		colorPowerBgPortraitMap.put(color, powerBgPortrait);
-		colorEnergyOrbPortraitMap.put(color, energyOrbPortrait);
+		ColorProfile.remove(color);
+		ColorProfile profile = ColorProfile.getOrCreate(color);
+		profile.bgColor = bgColor;
+		profile.backColor = backColor;
+		profile.frameColor = frameColor;
+		profile.frameOutlineColor = frameOutlineColor;
+		profile.descBoxColor = descBoxColor;
+		profile.trailVfxColor = trailVfxColor;
+		profile.glowColor = glowColor;
+		profile.cardCount = 0;
+		profile.cardSeenCount = 0;
+		setTexturePath(profile, ColorTextures.Kind.ATTACK_BG, attackBg);
+		setTexturePath(profile, ColorTextures.Kind.SKILL_BG, skillBg);
+		setTexturePath(profile, ColorTextures.Kind.POWER_BG, powerBg);
+		setTexturePath(profile, ColorTextures.Kind.ENERGY_ORB, energyOrb);
+		setTexturePath(profile, ColorTextures.Kind.ATTACK_BG_PORTRAIT, attackBgPortrait);
+		setTexturePath(profile, ColorTextures.Kind.SKILL_BG_PORTRAIT, skillBgPortrait);
+		setTexturePath(profile, ColorTextures.Kind.POWER_BG_PORTRAIT, powerBgPortrait);
+		setTexturePath(profile, ColorTextures.Kind.ENERGY_ORB_PORTRAIT, energyOrbPortrait);
+		ColorTextures.register(profile);
 		
 		customRelicPools.put(color, new HashMap<>());
 		customRelicLists.put(color, new ArrayList<>());
@@ -1292,23 +1258,7 @@ public class BaseMod {
 	// remove a custom color -
 	// removing existing colors not currently supported
 	public static void removeColor(String color) {
-		colorBgColorMap.remove(color);
-		colorBackColorMap.remove(color);
-		colorFrameColorMap.remove(color);
-		colorFrameOutlineColorMap.remove(color);
-		colorDescBoxColorMap.remove(color);
-		colorTrailVfxMap.remove(color);
-		colorGlowColorMap.remove(color);
-		colorCardCountMap.remove(color);
-		colorCardSeenCountMap.remove(color);
-		colorAttackBgMap.remove(color);
-		colorSkillBgMap.remove(color);
-		colorPowerBgMap.remove(color);
-		colorEnergyOrbMap.remove(color);
-		colorAttackBgPortraitMap.remove(color);
-		colorSkillBgPortraitMap.remove(color);
-		colorPowerBgPortraitMap.remove(color);
-		colorEnergyOrbPortraitMap.remove(color);
+		ColorProfile.remove(color);
 		
 		customRelicPools.remove(color);
 		customRelicLists.remove(color, new ArrayList<>());
@@ -1316,202 +1266,213 @@ public class BaseMod {
 
 	// convert a color String (fake ENUM) into a background color
 	public static com.badlogic.gdx.graphics.Color getBgColor(String color) {
-		return colorBgColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.bgColor;
 	}
 
 	// convert a color String (fake ENUM) into a back color
 	public static com.badlogic.gdx.graphics.Color getBackColor(String color) {
-		return colorBackColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.backColor;
 	}
 
 	// convert a color String (fake ENUM) into a frame color
 	public static com.badlogic.gdx.graphics.Color getFrameColor(String color) {
-		return colorFrameColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.frameColor;
 	}
 
 	// convert a color String (fake ENUM) into a frame outline color
 	public static com.badlogic.gdx.graphics.Color getFrameOutlineColor(String color) {
-		return colorFrameOutlineColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.frameOutlineColor;
 	}
 
 	// convert a color String (fake ENUM) into a desc box color
 	public static com.badlogic.gdx.graphics.Color getDescBoxColor(String color) {
-		return colorDescBoxColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.descBoxColor;
 	}
 
 	// convert a color String (fake ENUM) into a trail vfx color
 	public static com.badlogic.gdx.graphics.Color getTrailVfxColor(String color) {
-		return colorTrailVfxMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.trailVfxColor;
 	}
 
 	// increment the card count for a color String (fake ENUM)
 	public static void incrementCardCount(String color) {
-		Integer count = colorCardCountMap.get(color);
-		System.out.println("incrementing card count for " + color + " to " + colorCardCountMap.get(color));
-		if (count != null) {
-			colorCardCountMap.put(color, count + 1);
-		} else {
-			colorCardCountMap.put(color, 0);
-		}
+		ColorProfile profile = ColorProfile.getOrCreate(color);
+		profile.cardCount = profile.cardCount != null ? profile.cardCount + 1 : 0;
 	}
 
 	// decrement the card count for a color String (fake ENUM)
 	public static void decrementCardCount(String color) {
-		Integer count = colorCardCountMap.get(color);
-		if (count != null) {
-			colorCardCountMap.put(color, count - 1);
-			if (colorCardCountMap.get(color) < 0) {
-				colorCardCountMap.remove(color);
-			}
+		ColorProfile profile = ColorProfile.get(color);
+		if (profile != null && profile.cardCount != null) {
+			profile.cardCount = profile.cardCount > 0 ? profile.cardCount - 1 : null;
 		}
 	}
 
 	// get card count for a color String (fake ENUM)
 	public static Integer getCardCount(String color) {
-		return colorCardCountMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.cardCount;
 	}
 
 	// increment the seen card count for a color String (fake ENUM)
 	public static void incrementSeenCardCount(String color) {
-		Integer count = colorCardSeenCountMap.get(color);
-		if (count != null) {
-			colorCardSeenCountMap.put(color, count + 1);
-		} else {
-			colorCardSeenCountMap.put(color, 0);
-		}
+		ColorProfile profile = ColorProfile.getOrCreate(color);
+		profile.cardSeenCount = profile.cardSeenCount != null ? profile.cardSeenCount + 1 : 0;
 	}
 
 	// get seen card count for a color String (fake ENUM)
 	public static Integer getSeenCardCount(String color) {
-		return colorCardSeenCountMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.cardSeenCount;
 	}
 
 	// convert a color String (fake ENUM) into a glow color
 	public static com.badlogic.gdx.graphics.Color getGlowColor(String color) {
-		return colorGlowColorMap.get(color);
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.glowColor;
 	}
 
 	// convert a color String (fake ENUM) into an attack background texture path
 	public static String getAttackBg(String color) {
-		return colorAttackBgMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.ATTACK_BG);
 	}
 
 	// convert a color String (fake ENUM) into an skill background texture path
 	public static String getSkillBg(String color) {
-		return colorSkillBgMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.SKILL_BG);
 	}
 
 	// convert a color String (fake ENUM) into an power background texture path
 	public static String getPowerBg(String color) {
-		return colorPowerBgMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.POWER_BG);
 	}
 
 	// convert a color String (fake ENUM) into an energy texture path
 	public static String getEnergyOrb(String color) {
-		return colorEnergyOrbMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.ENERGY_ORB);
 	}
 
 	// convert a color String (fake ENUM) into an attack background portrait
 	// texture path
 	public static String getAttackBgPortrait(String color) {
-		return colorAttackBgPortraitMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.ATTACK_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an skill background portrait
 	// texture path
 	public static String getSkillBgPortrait(String color) {
-		return colorSkillBgPortraitMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.SKILL_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an power background portrait
 	// texture path
 	public static String getPowerBgPortrait(String color) {
-		return colorPowerBgPortraitMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.POWER_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an energy portrait texture path
 	public static String getEnergyOrbPortrait(String color) {
-		return colorEnergyOrbPortraitMap.get(color);
+		return getTexturePath(color, ColorTextures.Kind.ENERGY_ORB_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an attack background texture
 	public static com.badlogic.gdx.graphics.Texture getAttackBgTexture(String color) {
-		return colorAttackBgTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.ATTACK_BG);
 	}
 
 	// convert a color String (fake ENUM) into an skill background texture
 	public static com.badlogic.gdx.graphics.Texture getSkillBgTexture(String color) {
-		return colorSkillBgTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.SKILL_BG);
 	}
 
 	// convert a color String (fake ENUM) into an power background texture
 	public static com.badlogic.gdx.graphics.Texture getPowerBgTexture(String color) {
-		return colorPowerBgTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.POWER_BG);
 	}
 
 	// convert a color String (fake ENUM) into an energy texture
 	public static com.badlogic.gdx.graphics.Texture getEnergyOrbTexture(String color) {
-		return colorEnergyOrbTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.ENERGY_ORB);
 	}
 
 	// convert a color String (fake ENUM) into an attack background texture
 	public static com.badlogic.gdx.graphics.Texture getAttackBgPortraitTexture(String color) {
-		return colorAttackBgPortraitTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.ATTACK_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an skill background texture
 	public static com.badlogic.gdx.graphics.Texture getSkillBgPortraitTexture(String color) {
-		return colorSkillBgPortraitTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.SKILL_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an power background texture
 	public static com.badlogic.gdx.graphics.Texture getPowerBgPortraitTexture(String color) {
-		return colorPowerBgPortraitTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.POWER_BG_PORTRAIT);
 	}
 
 	// convert a color String (fake ENUM) into an energy texture
 	public static com.badlogic.gdx.graphics.Texture getEnergyOrbPortraitTexture(String color) {
-		return colorEnergyOrbPortraitTextureMap.get(color);
+		return getTexture(color, ColorTextures.Kind.ENERGY_ORB_PORTRAIT);
 	}
 
 	// save a attack background texture for a color String (fake ENUM)
 	public static void saveAttackBgTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorAttackBgTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.ATTACK_BG.ordinal()] = tex;
 	}
 
 	// save a skill background texture for a color String (fake ENUM)
 	public static void saveSkillBgTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorSkillBgTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.SKILL_BG.ordinal()] = tex;
 	}
 
 	// save a power background texture for a color String (fake ENUM)
 	public static void savePowerBgTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorPowerBgTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.POWER_BG.ordinal()] = tex;
 	}
 
 	// save an energy orb texture for a color String (fake ENUM)
 	public static void saveEnergyOrbTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorEnergyOrbTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.ENERGY_ORB.ordinal()] = tex;
 	}
 
 	// save a attack background texture for a color String (fake ENUM)
 	public static void saveAttackBgPortraitTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorAttackBgPortraitTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.ATTACK_BG_PORTRAIT.ordinal()] = tex;
 	}
 
 	// save a skill background texture for a color String (fake ENUM)
 	public static void saveSkillBgPortraitTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorSkillBgPortraitTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.SKILL_BG_PORTRAIT.ordinal()] = tex;
 	}
 
 	// save a power background texture for a color String (fake ENUM)
 	public static void savePowerBgPortraitTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorPowerBgPortraitTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.POWER_BG_PORTRAIT.ordinal()] = tex;
 	}
 
 	// save an energy orb texture for a color String (fake ENUM)
 	public static void saveEnergyOrbPortraitTexture(String color, com.badlogic.gdx.graphics.Texture tex) {
-		colorEnergyOrbPortraitTextureMap.put(color, tex);
+		ColorProfile.getOrCreate(color).textures[ColorTextures.Kind.ENERGY_ORB_PORTRAIT.ordinal()] = tex;
+	}
+	
+	private static void setTexturePath(ColorProfile profile, ColorTextures.Kind kind, String path) {
+		profile.texturePaths[kind.ordinal()] = path;
+	}
+
+	private static String getTexturePath(String color, ColorTextures.Kind kind) {
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.getTexturePath(kind);
+	}
+
+	private static com.badlogic.gdx.graphics.Texture getTexture(String color, ColorTextures.Kind kind) {
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.getTexture(kind);
 	}
 	
 	// 
@@ -1574,10 +1535,11 @@ public class BaseMod {
 	// publishStartAct -
 	public static void publishStartAct() {
 		logger.info("publishStartAct");
-		for (StartActSubscriber sub : startActSubscribers) {
+		for (StartActSubscriber sub : startActSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveStartAct();
+			HookProfiler.record(StartActSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(StartActSubscriber.class);
 	}
 
 	// publishPostCampfire - false allows an additional option to be selected
@@ -1586,12 +1548,13 @@ public class BaseMod {
 
 		boolean campfireDone = true;
 
-		for (PostCampfireSubscriber sub : postCampfireSubscribers) {
+		for (PostCampfireSubscriber sub : postCampfireSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			if (!sub.receivePostCampfire()) {
 				campfireDone = false;
 			}
+			HookProfiler.record(PostCampfireSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostCampfireSubscriber.class);
 
 		return campfireDone;
 	}
@@ -1599,38 +1562,46 @@ public class BaseMod {
 	// publishPostDraw -
 	public static void publishPostDraw(AbstractCard c) {
 		logger.info("publishPostDraw");
-		for (PostDrawSubscriber sub : postDrawSubscribers) {
+		for (PostDrawSubscriber sub : postDrawSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostDraw(c);
+			HookProfiler.record(PostDrawSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostDrawSubscriber.class);
 	}
 
 	// publishPostExhaust -
 	public static void publishPostExhaust(AbstractCard c) {
 		logger.info("publishPostExhaust");
-		for (PostExhaustSubscriber sub : postExhaustSubscribers) {
+		for (PostExhaustSubscriber sub : postExhaustSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostExhaust(c);
+			HookProfiler.record(PostExhaustSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostExhaustSubscriber.class);
 	}
 
 	// publishPostDungeonInitialize -
 	public static void publishPostDungeonInitialize() {
 		logger.info("publishPostDungeonInitialize");
 
-		for (PostDungeonInitializeSubscriber sub : postDungeonInitializeSubscribers) {
+		for (PostDungeonInitializeSubscriber sub : postDungeonInitializeSubscribers.getSubscribers()) {
+			if (sub instanceof ThreadSafeSubscriber) {
+				AsyncLane.submit(() -> sub.receivePostDungeonInitialize());
+				continue;
+			}
+			long start = HookProfiler.start();
 			sub.receivePostDungeonInitialize();
+			HookProfiler.record(PostDungeonInitializeSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostDungeonInitializeSubscriber.class);
 	}
 
 	// publishPostEnergyRecharge -
 	public static void publishPostEnergyRecharge() {
 		logger.info("publishPostEnergyRecharge");
-		for (PostEnergyRechargeSubscriber sub : postEnergyRechargeSubscribers) {
+		for (PostEnergyRechargeSubscriber sub : postEnergyRechargeSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostEnergyRecharge();
+			HookProfiler.record(PostEnergyRechargeSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostEnergyRechargeSubscriber.class);
 	}
 
 	// publishPostInitialize -
@@ -1641,10 +1612,11 @@ public class BaseMod {
 		setupAnimationGfx();
 		
 		// Publish
-		for (PostInitializeSubscriber sub : postInitializeSubscribers) {
+		for (PostInitializeSubscriber sub : postInitializeSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostInitialize();
+			HookProfiler.record(PostInitializeSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostInitializeSubscriber.class);
 	}
 
 	// publishPreMonsterTurn - false skips monster turn
@@ -1653,22 +1625,25 @@ public class BaseMod {
 
 		boolean takeTurn = true;
 
-		for (PreMonsterTurnSubscriber sub : preMonsterTurnSubscribers) {
+		for (PreMonsterTurnSubscriber sub : preMonsterTurnSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			if (!sub.receivePreMonsterTurn(m)) {
 				takeTurn = false;
 			}
+			HookProfiler.record(PreMonsterTurnSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PreMonsterTurnSubscriber.class);
 
 		return takeTurn;
 	}
 
 	// publishRender -
 	public static void publishRender(SpriteBatch sb) {
-		for (RenderSubscriber sub : renderSubscribers) {
+		GameStateFilter.update();
+		for (RenderSubscriber sub : renderSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveRender(sb);
+			HookProfiler.record(RenderSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(RenderSubscriber.class);
 	}
 	
 	// publishAnimationRender -
@@ -1687,8 +1662,10 @@ public class BaseMod {
 	
 	// publishPreRender -
 	public static void publishPreRender(OrthographicCamera camera) {
-		for (PreRenderSubscriber sub : preRenderSubscribers) {
+		for (PreRenderSubscriber sub : preRenderSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveCameraRender(camera);
+			HookProfiler.record(PreRenderSubscriber.class, sub, start);
 		}
 		
 		if (modelRenderSubscribers.size() > 0) {
@@ -1698,8 +1675,10 @@ public class BaseMod {
 		    Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		    batch.begin(animationCamera);
 
-		    for (ModelRenderSubscriber sub : modelRenderSubscribers) {
+		    for (ModelRenderSubscriber sub : modelRenderSubscribers.getSubscribers()) {
+		    	long start = HookProfiler.start();
 		    	sub.receiveModelRender(batch, animationEnvironment);
+		    	HookProfiler.record(ModelRenderSubscriber.class, sub, start);
 		    }
 		    
 		    batch.end();
@@ -1709,16 +1688,20 @@ public class BaseMod {
 	        animationTextureRegion.flip(false, true);
 		}
 		
-		unsubscribeLaterHelper(PreRenderSubscriber.class);
-		unsubscribeLaterHelper(ModelRenderSubscriber.class);
 	}
 
 	// publishPostRender -
 	public static void publishPostRender(SpriteBatch sb) {
-		for (PostRenderSubscriber sub : postRenderSubscribers) {
+		for (PostRenderSubscriber sub : postRenderSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostRender(sb);
+			HookProfiler.record(PostRenderSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostRenderSubscriber.class);
+
+		// the post render hook is the last BaseMod hook of each frame
+		applyUnsubscribeLater();
+		HookProfiler.endFrame();
+		ReflectionProfiler.endFrame();
 	}
 
 	// publishPreStartGame -
@@ -1726,38 +1709,54 @@ public class BaseMod {
 		logger.info("publishPreStartGame");
 
 		// Publish
-		for (PreStartGameSubscriber sub : preStartGameSubscribers) {
+		for (PreStartGameSubscriber sub : preStartGameSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePreStartGame();
+			HookProfiler.record(PreStartGameSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PreStartGameSubscriber.class);
 	}
 
 	public static void publishStartGame() {
 		logger.info("publishStartGame");
 
-		for (StartGameSubscriber sub : startGameSubscribers) {
+		for (StartGameSubscriber sub : startGameSubscribers.getSubscribers()) {
+			if (sub instanceof ThreadSafeSubscriber) {
+				AsyncLane.submit(() -> sub.receiveStartGame());
+				continue;
+			}
+			long start = HookProfiler.start();
 			sub.receiveStartGame();
+			HookProfiler.record(StartGameSubscriber.class, sub, start);
 		}
 
 		logger.info("mapDensityMultiplier: " + mapPathDensityMultiplier);
-		
-		unsubscribeLaterHelper(StartGameSubscriber.class);
 	}
 
 	// publishPreUpdate -
 	public static void publishPreUpdate() {
-		for (PreUpdateSubscriber sub : preUpdateSubscribers) {
+		GameStateFilter.update();
+		AsyncTextureLoader.update();
+		PortraitResidency.update();
+		for (PreUpdateSubscriber sub : preUpdateSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePreUpdate();
+			HookProfiler.record(PreUpdateSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PreUpdateSubscriber.class);
 	}
 
 	// publishPostUpdate -
 	public static void publishPostUpdate() {
-		for (PostUpdateSubscriber sub : postUpdateSubscribers) {
+		AsyncLane.drain();
+
+		for (PostUpdateSubscriber sub : postUpdateSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostUpdate();
+			HookProfiler.record(PostUpdateSubscriber.class, sub, start);
+		}
+
+		if (powersModifiedThisFrame) {
+			publishCoalescedPowersModified();
 		}
-		unsubscribeLaterHelper(PostUpdateSubscriber.class);
 	}
 
 	// publishPostCreateStartingDeck -
@@ -1767,7 +1766,8 @@ public class BaseMod {
 		boolean clearDefault = false;
 		ArrayList<String> cardsToAdd = new ArrayList<>();
 
-		for (PostCreateStartingDeckSubscriber sub : postCreateStartingDeckSubscribers) {
+		for (PostCreateStartingDeckSubscriber sub : postCreateStartingDeckSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			logger.info("postCreateStartingDeck modifying starting deck for: " + sub);
 			switch (chosenClass) {
 			case IRONCLAD:
@@ -1787,6 +1787,7 @@ public class BaseMod {
 			default:
 				break;
 			}
+			HookProfiler.record(PostCreateStartingDeckSubscriber.class, sub, start);
 		}
 
 		StringBuilder logString = new StringBuilder("postCreateStartingDeck adding [ ");
@@ -1801,7 +1802,6 @@ public class BaseMod {
 			cards.clear();
 		}
 		cards.addAll(cardsToAdd);
-		unsubscribeLaterHelper(PostCreateStartingDeckSubscriber.class);
 	}
 
 	public static ArrayList<String> relicsThatNeedSpecificPlayer = new ArrayList<>();
@@ -1821,7 +1821,8 @@ public class BaseMod {
 		boolean clearDefault = false;
 		ArrayList<String> relicsToAdd = new ArrayList<>();
 
-		for (PostCreateStartingRelicsSubscriber sub : postCreateStartingRelicsSubscribers) {
+		for (PostCreateStartingRelicsSubscriber sub : postCreateStartingRelicsSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			logger.info("postCreateStartingRelics modifying starting relics for: " + sub);
 			switch (chosenClass) {
 			case IRONCLAD:
@@ -1841,6 +1842,7 @@ public class BaseMod {
 			default:
 				break;
 			}
+			HookProfiler.record(PostCreateStartingRelicsSubscriber.class, sub, start);
 		}
 
 		StringBuilder logString = new StringBuilder("postCreateStartingRelics adding [ ");
@@ -1858,8 +1860,8 @@ public class BaseMod {
 		// the default setup for adding starting relics does not do
 		// equip triggers on the relics so we circumvent that by
 		// adding relics ourself on dungeon initialize and force
-		// the equip trigger
-		subscribeToPostDungeonInitialize(() -> {
+		// the equip trigger, once, so these don't pile up across runs
+		subscribe((PostDungeonInitializeSubscriber) () -> {
 			int relicIndex = AbstractDungeon.player.relics.size();
 			int relicRemoveIndex = relicsToAdd.size() - 1;
 			while (relicsToAdd.size() > 0) {
@@ -1881,7 +1883,7 @@ public class BaseMod {
 				relicRemoveIndex--;
 				relicIndex++;
 			}
-		});
+		}, Subscription.Scope.ONE_SHOT);
 
 		if (clearDefault) {
 			logger.info("postCreateStartingRelics clearing initial relics");
@@ -1889,27 +1891,28 @@ public class BaseMod {
 		}
 
 		AbstractDungeon.relicsToRemoveOnStart.addAll(relicsToAdd);
-		unsubscribeLaterHelper(PostCreateStartingRelicsSubscriber.class);
 	}
 
 	// publishPostCreateShopRelic -
 	public static void publishPostCreateShopRelics(ArrayList<StoreRelic> relics, ShopScreen screenInstance) {
 		logger.info("postCreateShopRelics for: " + relics);
 
-		for (PostCreateShopRelicSubscriber sub : postCreateShopRelicSubscribers) {
+		for (PostCreateShopRelicSubscriber sub : postCreateShopRelicSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveCreateShopRelics(relics, screenInstance);
+			HookProfiler.record(PostCreateShopRelicSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostCreateShopRelicSubscriber.class);
 	}
 
 	// publishPostCreateShopPotion -
 	public static void publishPostCreateShopPotions(ArrayList<StorePotion> potions, ShopScreen screenInstance) {
 		logger.info("postCreateShopPotions for: " + potions);
 
-		for (PostCreateShopPotionSubscriber sub : postCreateShopPotionSubscribers) {
+		for (PostCreateShopPotionSubscriber sub : postCreateShopPotionSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveCreateShopPotions(potions, screenInstance);
+			HookProfiler.record(PostCreateShopPotionSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostCreateShopPotionSubscriber.class);
 	}
 
 	// publishEditCards -
@@ -1920,118 +1923,146 @@ public class BaseMod {
 		BaseMod.addDynamicVariable(new BlockVariable());
 		BaseMod.addDynamicVariable(new MagicNumberVariable());
 
-		for (EditCardsSubscriber sub : editCardsSubscribers) {
+		for (EditCardsSubscriber sub : editCardsSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveEditCards();
+			HookProfiler.record(EditCardsSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(EditCardsSubscriber.class);
 	}
 
 	// publishEditRelics -
 	public static void publishEditRelics() {
 		logger.info("begin editing relics");
 
-		for (EditRelicsSubscriber sub : editRelicsSubscribers) {
+		for (EditRelicsSubscriber sub : editRelicsSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveEditRelics();
+			HookProfiler.record(EditRelicsSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(EditRelicsSubscriber.class);
 	}
 
 	// publishEditCharacters -
 	public static void publishEditCharacters() {
 		logger.info("begin editing characters");
 
-		for (EditCharactersSubscriber sub : editCharactersSubscribers) {
+		for (EditCharactersSubscriber sub : editCharactersSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveEditCharacters();
+			HookProfiler.record(EditCharactersSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(EditCharactersSubscriber.class);
 	}
 
 	// publishEditStrings -
 	public static void publishEditStrings() {
 		logger.info("begin editing localization strings");
 
-		for (EditStringsSubscriber sub : editStringsSubscribers) {
+		for (EditStringsSubscriber sub : editStringsSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveEditStrings();
+			HookProfiler.record(EditStringsSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(EditStringsSubscriber.class);
 	}
 
 	// publishPostBattle -
 	public static void publishPostBattle(AbstractRoom battleRoom) {
 		logger.info("publish post combat");
+		DynamicValueCache.invalidateAll();
 
-		for (PostBattleSubscriber sub : postBattleSubscribers) {
+		for (PostBattleSubscriber sub : postBattleSubscribers.getSubscribers()) {
+			if (sub instanceof ThreadSafeSubscriber) {
+				AsyncLane.submit(() -> sub.receivePostBattle(battleRoom));
+				continue;
+			}
+			long start = HookProfiler.start();
 			sub.receivePostBattle(battleRoom);
+			HookProfiler.record(PostBattleSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostBattleSubscriber.class);
 	}
 
 	// publishPostRefresh -
 	public static void publishPostRefresh() {
 		logger.info("publish post refresh - refreshing unlocks");
 
-		for (SetUnlocksSubscriber sub : setUnlocksSubscribers) {
+		for (SetUnlocksSubscriber sub : setUnlocksSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveSetUnlocks();
+			HookProfiler.record(SetUnlocksSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(SetUnlocksSubscriber.class);
 	}
 
 	// publishOnCardUse -
 	public static void publishOnCardUse(AbstractCard c) {
 		logger.info("publish on card use");
+		DynamicValueCache.invalidateAll();
 
-		for (OnCardUseSubscriber sub : onCardUseSubscribers) {
+		for (OnCardUseSubscriber sub : onCardUseSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveCardUsed(c);
+			HookProfiler.record(OnCardUseSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(OnCardUseSubscriber.class);
 	}
 	
 	// publishPostUsePotion -
 	public static void publishPostPotionUse(AbstractPotion p) {
 		logger.info("publish on post potion use");
-		for (PostPotionUseSubscriber sub : postPotionUseSubscribers) {
+		for (PostPotionUseSubscriber sub : postPotionUseSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostPotionUse(p);
+			HookProfiler.record(PostPotionUseSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostPotionUseSubscriber.class);
 	}
 	
 	// publishPostPotionUse -
 	public static void publishPrePotionUse(AbstractPotion p) {
 		logger.info("publish on pre potion use");
 		
-		for (PrePotionUseSubscriber sub : prePotionUseSubscribers) {
+		for (PrePotionUseSubscriber sub : prePotionUseSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePrePotionUse(p);
+			HookProfiler.record(PrePotionUseSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PrePotionUseSubscriber.class);
 	}
 	
 	// publishPotionGet -
 	public static void publishPotionGet(AbstractPotion p) {
 		logger.info("publish on potion get");
 		
-		for (PotionGetSubscriber sub : potionGetSubscribers) {
+		for (PotionGetSubscriber sub : potionGetSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePotionGet(p);
+			HookProfiler.record(PotionGetSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PotionGetSubscriber.class);
 	}
 	
 	// publishRelicGet -
 	public static void publishRelicGet(AbstractRelic r) {
 		logger.info("publish on relic get");
-		for (RelicGetSubscriber sub : relicGetSubscribers) {
+		for (RelicGetSubscriber sub : relicGetSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveRelicGet(r);
+			HookProfiler.record(RelicGetSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(RelicGetSubscriber.class);
 	}
 	
 	// publishPostPowerApply
 	public static void publishPostPowerApply(AbstractPower p, AbstractCreature target, AbstractCreature source) {
 		logger.info("publish on post power apply");
 		
-		for(PostPowerApplySubscriber sub: postPowerApplySubscribers) {
+		for(PostPowerApplySubscriber sub: postPowerApplySubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePostPowerApplySubscriber(p, target, source);
+			HookProfiler.record(PostPowerApplySubscriber.class, sub, start);
+		}
+
+		if (!coalescedPowersModifiedSubscribers.isEmpty()) {
+			powersModifiedThisFrame = true;
+			if (target != null) {
+				creaturesModifiedThisFrame.add(target);
+			}
+			if (p != null) {
+				powersAppliedThisFrame.add(p);
+			}
 		}
-		unsubscribeLaterHelper(PostPowerApplySubscriber.class);
 	}
 	
 	// publishEditKeywords
@@ -2040,298 +2071,229 @@ public class BaseMod {
 
 		addKeyword(new String[]{"[E]"}, GameDictionary.TEXT[0]);
 		
-		for (EditKeywordsSubscriber sub : editKeywordsSubscribers) {
+		for (EditKeywordsSubscriber sub : editKeywordsSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receiveEditKeywords();
+			HookProfiler.record(EditKeywordsSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(EditKeywordsSubscriber.class);
 	}
 	
 	// publishOnPowersModified
 	public static void publishOnPowersModified() {
 		logger.info("powers modified");
 		
-		for (OnPowersModifiedSubscriber sub : onPowersModifiedSubscribers) {
+		for (OnPowersModifiedSubscriber sub : onPowersModifiedSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
 			sub.receivePowersModified();
+			HookProfiler.record(OnPowersModifiedSubscriber.class, sub, start);
+		}
+
+		if (!coalescedPowersModifiedSubscribers.isEmpty()) {
+			powersModifiedThisFrame = true;
+		}
+	}
+
+	// publishCoalescedPowersModified - once per frame after post update if
+	// any powers were modified or applied during it
+	private static void publishCoalescedPowersModified() {
+		Set<AbstractCreature> creatures = Collections.unmodifiableSet(creaturesModifiedThisFrame);
+		Set<AbstractPower> powers = Collections.unmodifiableSet(powersAppliedThisFrame);
+		for (CoalescedPowersModifiedSubscriber sub : coalescedPowersModifiedSubscribers.getSubscribers()) {
+			long start = HookProfiler.start();
+			sub.receiveCoalescedPowersModified(creatures, powers);
+			HookProfiler.record(CoalescedPowersModifiedSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(OnPowersModifiedSubscriber.class);
+
+		powersModifiedThisFrame = false;
+		creaturesModifiedThisFrame.clear();
+		powersAppliedThisFrame.clear();
 	}
 
 	// publishPostDeath - Is triggered on death and victory
 	public static void publishPostDeath() {
 		logger.info("publishPostDeath");
 
-		for (PostDeathSubscriber sub : postDeathSubscribers) {
+		for (PostDeathSubscriber sub : postDeathSubscribers.getSubscribers()) {
+			if (sub instanceof ThreadSafeSubscriber) {
+				AsyncLane.submit(() -> sub.receivePostDeath());
+				continue;
+			}
+			long start = HookProfiler.start();
 			sub.receivePostDeath();
+			HookProfiler.record(PostDeathSubscriber.class, sub, start);
 		}
-		unsubscribeLaterHelper(PostDeathSubscriber.class);
 	}
 	
 	//
 	// Subscription handlers
 	//
 
-	// unsubscribes all elements of toRemove that are of type removalClass
-	private static void unsubscribeLaterHelper(Class<? extends ISubscriber> removalClass) {
-		for (ISubscriber sub : toRemove) {
-			if (removalClass.isInstance(sub)) {
-				unsubscribe(sub, removalClass);
-			}
+	// applyUnsubscribeLater - removes everything passed to unsubscribeLater
+	// with a single compaction of each list those subscribers are in
+	private static void applyUnsubscribeLater() {
+		if (toRemove.isEmpty()) {
+			return;
 		}
+
+		for (Map.Entry<SubscriberList<?>, Set<ISubscriber>> entry : toRemove.entrySet()) {
+			entry.getKey().removeAll(entry.getValue());
+		}
+		toRemove.clear();
 	}
 	
-	// not actually unchecked because we do an isInstance check at runtime
-	@SuppressWarnings("unchecked")
-	private static <T> void subscribeIfInstance(ArrayList<T> list, ISubscriber sub, Class<T> clazz) {
-		if (clazz.isInstance(sub)) {
-			list.add((T) sub);
+	// newSubscriberList - creates the list for a hook type and registers it
+	// so subscribe/unsubscribe can find it by interface
+	private static <T extends ISubscriber> SubscriberList<T> newSubscriberList(Class<T> type) {
+		SubscriberList<T> list = new SubscriberList<>(type);
+		subscriberLists.put(type, list);
+		return list;
+	}
+
+	// getSubscriberLists - every list a subscriber of class clazz belongs in
+	// computed once per class by walking its interfaces, then cached
+	private static SubscriberList<?>[] getSubscriberLists(Class<?> clazz) {
+		SubscriberList<?>[] lists = subscriberListsByClass.get(clazz);
+		if (lists == null) {
+			LinkedHashSet<SubscriberList<?>> found = new LinkedHashSet<>();
+			for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+				collectSubscriberLists(c, found);
+			}
+			lists = found.toArray(new SubscriberList<?>[found.size()]);
+			subscriberListsByClass.put(clazz, lists);
 		}
+		return lists;
 	}
-	
-	// not actually unchecked because we do an isInstance check at runtime
-	@SuppressWarnings("unchecked")
-	private static <T> void unsubscribeIfInstance(ArrayList<T> list, ISubscriber sub, Class<T> clazz) {
-		if (clazz.isInstance(sub)) {
-			list.remove((T) sub);
+
+	private static void collectSubscriberLists(Class<?> clazz, Set<SubscriberList<?>> found) {
+		for (Class<?> iface : clazz.getInterfaces()) {
+			SubscriberList<?> list = subscriberLists.get(iface);
+			if (list != null) {
+				found.add(list);
+			}
+			collectSubscriberLists(iface, found);
 		}
 	}
-	
-	
+
+	// addSubscriber - adds sub to list, dropping any removal of it from
+	// that list that is still pending so resubscribing is not undone
+	private static void addSubscriber(SubscriberList<?> list, ISubscriber sub, GameStateFilter filter) {
+		Set<ISubscriber> pending = toRemove.get(list);
+		if (pending != null) {
+			pending.remove(sub);
+		}
+		list.addUnchecked(sub, filter);
+	}
+
 	// subscribe -
 	// will subscribe to all lists this sub implements
 	public static void subscribe(ISubscriber sub) {
-		subscribeIfInstance(startActSubscribers, sub, StartActSubscriber.class);
-		subscribeIfInstance(postCampfireSubscribers, sub, PostCampfireSubscriber.class);
-		subscribeIfInstance(postDrawSubscribers, sub, PostDrawSubscriber.class);
-		subscribeIfInstance(postExhaustSubscribers, sub, PostExhaustSubscriber.class);
-		subscribeIfInstance(onCardUseSubscribers, sub, OnCardUseSubscriber.class);
-		subscribeIfInstance(postDungeonInitializeSubscribers, sub, PostDungeonInitializeSubscriber.class);
-		subscribeIfInstance(postEnergyRechargeSubscribers, sub, PostEnergyRechargeSubscriber.class);
-		subscribeIfInstance(postInitializeSubscribers, sub, PostInitializeSubscriber.class);
-		subscribeIfInstance(preMonsterTurnSubscribers, sub, PreMonsterTurnSubscriber.class);
-		subscribeIfInstance(renderSubscribers, sub, RenderSubscriber.class);
-		subscribeIfInstance(preRenderSubscribers, sub, PreRenderSubscriber.class);
-		subscribeIfInstance(postRenderSubscribers, sub, PostRenderSubscriber.class);
-		subscribeIfInstance(modelRenderSubscribers, sub, ModelRenderSubscriber.class);
-		subscribeIfInstance(preStartGameSubscribers, sub, PreStartGameSubscriber.class);
-		subscribeIfInstance(startGameSubscribers, sub, StartGameSubscriber.class);
-		subscribeIfInstance(preUpdateSubscribers, sub, PreUpdateSubscriber.class);
-		subscribeIfInstance(postUpdateSubscribers, sub, PostUpdateSubscriber.class);
-		subscribeIfInstance(postCreateStartingDeckSubscribers, sub, PostCreateStartingDeckSubscriber.class);
-		subscribeIfInstance(postCreateStartingRelicsSubscribers, sub, PostCreateStartingRelicsSubscriber.class);
-		subscribeIfInstance(postCreateShopRelicSubscribers, sub, PostCreateShopRelicSubscriber.class);
-		subscribeIfInstance(postCreateShopPotionSubscribers, sub, PostCreateShopPotionSubscriber.class);
-		subscribeIfInstance(editCardsSubscribers, sub, EditCardsSubscriber.class);
-		subscribeIfInstance(editRelicsSubscribers, sub, EditRelicsSubscriber.class);
-		subscribeIfInstance(editCharactersSubscribers, sub, EditCharactersSubscriber.class);
-		subscribeIfInstance(editStringsSubscribers, sub, EditStringsSubscriber.class);
-		subscribeIfInstance(editKeywordsSubscribers, sub, EditKeywordsSubscriber.class);
-		subscribeIfInstance(postBattleSubscribers, sub, PostBattleSubscriber.class);
-		subscribeIfInstance(setUnlocksSubscribers, sub, SetUnlocksSubscriber.class);
-		subscribeIfInstance(postPotionUseSubscribers, sub, PostPotionUseSubscriber.class);
-		subscribeIfInstance(prePotionUseSubscribers, sub, PrePotionUseSubscriber.class);
-		subscribeIfInstance(potionGetSubscribers, sub, PotionGetSubscriber.class);
-		subscribeIfInstance(relicGetSubscribers, sub, RelicGetSubscriber.class);
-		subscribeIfInstance(postPowerApplySubscribers, sub, PostPowerApplySubscriber.class);
-		subscribeIfInstance(onPowersModifiedSubscribers, sub, OnPowersModifiedSubscriber.class);
-		subscribeIfInstance(postDeathSubscribers, sub, PostDeathSubscriber.class);
+		subscribe(sub, (GameStateFilter) null);
+	}
+
+	// subscribe -
+	// will subscribe to all lists this sub implements, but only publish to it
+	// while the game is in a state matching filter
+	public static void subscribe(ISubscriber sub, GameStateFilter filter) {
+		for (SubscriberList<?> list : getSubscriberLists(sub.getClass())) {
+			addSubscriber(list, sub, filter);
+		}
 	}
 	
 	// subscribe -
 	// only subscribers to a specific list
 	public static void subscribe(ISubscriber sub, Class<? extends ISubscriber> additionClass) {
-		if (additionClass.equals(StartActSubscriber.class)) {
-			startActSubscribers.add((StartActSubscriber) sub);
-		} else if (additionClass.equals(PostCampfireSubscriber.class)) {
-			postCampfireSubscribers.add((PostCampfireSubscriber) sub);
-		} else if (additionClass.equals(PostDrawSubscriber.class)) {
-			postDrawSubscribers.add((PostDrawSubscriber) sub);
-		} else if (additionClass.equals(PostExhaustSubscriber.class)) {
-			postExhaustSubscribers.add((PostExhaustSubscriber) sub);
-		} else if (additionClass.equals(OnCardUseSubscriber.class)) {
-			onCardUseSubscribers.add((OnCardUseSubscriber) sub);
-		} else if (additionClass.equals(PostDungeonInitializeSubscriber.class)) {
-			postDungeonInitializeSubscribers.add((PostDungeonInitializeSubscriber) sub);
-		} else if (additionClass.equals(PostEnergyRechargeSubscriber.class)) {
-			postEnergyRechargeSubscribers.add((PostEnergyRechargeSubscriber) sub);
-		} else if (additionClass.equals(PostInitializeSubscriber.class)) {
-			postInitializeSubscribers.add((PostInitializeSubscriber) sub);
-		} else if (additionClass.equals(PreMonsterTurnSubscriber.class)) {
-			preMonsterTurnSubscribers.add((PreMonsterTurnSubscriber) sub);
-		} else if (additionClass.equals(RenderSubscriber.class)) {
-			renderSubscribers.add((RenderSubscriber) sub);
-		} else if (additionClass.equals(PreRenderSubscriber.class)) {
-			preRenderSubscribers.add((PreRenderSubscriber) sub);
-		} else if (additionClass.equals(PostRenderSubscriber.class)) {
-			postRenderSubscribers.add((PostRenderSubscriber) sub);
-		} else if (additionClass.equals(ModelRenderSubscriber.class)) {
-			modelRenderSubscribers.add((ModelRenderSubscriber) sub);
-		} else if (additionClass.equals(PreStartGameSubscriber.class)) {
-			preStartGameSubscribers.add((PreStartGameSubscriber) sub);
-		} else if (additionClass.equals(StartGameSubscriber.class)) {
-			startGameSubscribers.add((StartGameSubscriber) sub);
-		} else if (additionClass.equals(PreUpdateSubscriber.class)) {
-			preUpdateSubscribers.add((PreUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostUpdateSubscriber.class)) {
-			postUpdateSubscribers.add((PostUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostCreateStartingDeckSubscriber.class)) {
-			postCreateStartingDeckSubscribers.add((PostCreateStartingDeckSubscriber) sub);
-		} else if (additionClass.equals(PostCreateStartingRelicsSubscriber.class)) {
-			postCreateStartingRelicsSubscribers.add((PostCreateStartingRelicsSubscriber) sub);
-		} else if (additionClass.equals(PostCreateShopRelicSubscriber.class)) {
-			postCreateShopRelicSubscribers.add((PostCreateShopRelicSubscriber) sub);
-		} else if (additionClass.equals(PostCreateShopPotionSubscriber.class)) {
-			postCreateShopPotionSubscribers.add((PostCreateShopPotionSubscriber) sub);
-		} else if (additionClass.equals(EditCardsSubscriber.class)) {
-			editCardsSubscribers.add((EditCardsSubscriber) sub);
-		} else if (additionClass.equals(EditRelicsSubscriber.class)) {
-			editRelicsSubscribers.add((EditRelicsSubscriber) sub);
-		} else if (additionClass.equals(EditCharactersSubscriber.class)) {
-			editCharactersSubscribers.add((EditCharactersSubscriber) sub);
-		} else if (additionClass.equals(EditStringsSubscriber.class)) {
-			editStringsSubscribers.add((EditStringsSubscriber) sub);
-		} else if (additionClass.equals(EditKeywordsSubscriber.class)) {
-			editKeywordsSubscribers.add((EditKeywordsSubscriber) sub);
-		} else if (additionClass.equals(PostBattleSubscriber.class)) {
-			postBattleSubscribers.add((PostBattleSubscriber) sub);
-		} else if (additionClass.equals(SetUnlocksSubscriber.class)) {
-			setUnlocksSubscribers.add((SetUnlocksSubscriber) sub);
-		} else if (additionClass.equals(PostPotionUseSubscriber.class)) {
-			postPotionUseSubscribers.add((PostPotionUseSubscriber) sub);
-		} else if (additionClass.equals(PrePotionUseSubscriber.class)) {
-			prePotionUseSubscribers.add((PrePotionUseSubscriber) sub);
-		} else if (additionClass.equals(PotionGetSubscriber.class)) {
-			potionGetSubscribers.add((PotionGetSubscriber) sub);
-		} else if (additionClass.equals(RelicGetSubscriber.class)) {
-			relicGetSubscribers.add((RelicGetSubscriber) sub);
-		} else if (additionClass.equals(PostPowerApplySubscriber.class)) {
-			postPowerApplySubscribers.add((PostPowerApplySubscriber) sub);
-		} else if (additionClass.equals(OnPowersModifiedSubscriber.class)) {
-			onPowersModifiedSubscribers.add((OnPowersModifiedSubscriber) sub);
-		} else if (additionClass.equals(PostDeathSubscriber.class)) {
-			postDeathSubscribers.add((PostDeathSubscriber) sub);
+		SubscriberList<?> list = subscriberLists.get(additionClass);
+		if (list != null) {
+			addSubscriber(list, sub, null);
+		}
+	}
+
+	// subscribe -
+	// will subscribe to all lists this sub implements until scope ends
+	public static Subscription subscribe(ISubscriber sub, Subscription.Scope scope) {
+		return subscribe(sub, getSubscriberLists(sub.getClass()), scope, null);
+	}
+
+	// subscribe -
+	// will subscribe to all lists this sub implements until scope ends, but
+	// only publish to it while the game is in a state matching filter
+	public static Subscription subscribe(ISubscriber sub, Subscription.Scope scope, GameStateFilter filter) {
+		return subscribe(sub, getSubscriberLists(sub.getClass()), scope, filter);
+	}
+
+	// subscribe -
+	// only subscribes to a specific list until scope ends
+	public static Subscription subscribe(ISubscriber sub, Class<? extends ISubscriber> additionClass, Subscription.Scope scope) {
+		SubscriberList<?> list = subscriberLists.get(additionClass);
+		return subscribe(sub, list == null ? new SubscriberList<?>[0] : new SubscriberList<?>[] { list }, scope, null);
+	}
+
+	private static Subscription subscribe(ISubscriber sub, SubscriberList<?>[] lists, Subscription.Scope scope, GameStateFilter filter) {
+		Subscription subscription = new Subscription(sub, lists, scope);
+		for (SubscriberList<?> list : lists) {
+			addSubscriber(list, sub, filter);
+			if (scope == Subscription.Scope.ONE_SHOT) {
+				list.addOneShot(subscription);
+			}
+		}
+
+		ArrayList<Subscription> scoped = scopedSubscriptions.get(scope);
+		if (scoped != null) {
+			scoped.add(subscription);
+		}
+		return subscription;
+	}
+
+	// endSubscriptionScope - cancels every subscription made with scope
+	public static void endSubscriptionScope(Subscription.Scope scope) {
+		ArrayList<Subscription> scoped = scopedSubscriptions.get(scope);
+		if (scoped == null || scoped.isEmpty()) {
+			return;
 		}
+
+		logger.info("ending " + scoped.size() + " " + scope + " subscriptions");
+		for (Subscription subscription : scoped) {
+			subscription.cancel();
+		}
+		scoped.clear();
+	}
+	
+	// endRunSubscriptionScopes - the run is over, ends the COMBAT, ACT and RUN scopes
+	public static void endRunSubscriptionScopes() {
+		endSubscriptionScope(Subscription.Scope.COMBAT);
+		endSubscriptionScope(Subscription.Scope.ACT);
+		endSubscriptionScope(Subscription.Scope.RUN);
 	}
 	
 	// unsubscribe -
 	// will unsubscribe from all lists this sub implements
 	public static void unsubscribe(ISubscriber sub) {
-		unsubscribeIfInstance(startActSubscribers, sub, StartActSubscriber.class);
-		unsubscribeIfInstance(postCampfireSubscribers, sub, PostCampfireSubscriber.class);
-		unsubscribeIfInstance(postDrawSubscribers, sub, PostDrawSubscriber.class);
-		unsubscribeIfInstance(postExhaustSubscribers, sub, PostExhaustSubscriber.class);
-		unsubscribeIfInstance(onCardUseSubscribers, sub, OnCardUseSubscriber.class);
-		unsubscribeIfInstance(postDungeonInitializeSubscribers, sub, PostDungeonInitializeSubscriber.class);
-		unsubscribeIfInstance(postEnergyRechargeSubscribers, sub, PostEnergyRechargeSubscriber.class);
-		unsubscribeIfInstance(postInitializeSubscribers, sub, PostInitializeSubscriber.class);
-		unsubscribeIfInstance(preMonsterTurnSubscribers, sub, PreMonsterTurnSubscriber.class);
-		unsubscribeIfInstance(renderSubscribers, sub, RenderSubscriber.class);
-		unsubscribeIfInstance(preRenderSubscribers, sub, PreRenderSubscriber.class);
-		unsubscribeIfInstance(postRenderSubscribers, sub, PostRenderSubscriber.class);
-		unsubscribeIfInstance(modelRenderSubscribers, sub, ModelRenderSubscriber.class);
-		unsubscribeIfInstance(preStartGameSubscribers, sub, PreStartGameSubscriber.class);
-		unsubscribeIfInstance(startGameSubscribers, sub, StartGameSubscriber.class);
-		unsubscribeIfInstance(preUpdateSubscribers, sub, PreUpdateSubscriber.class);
-		unsubscribeIfInstance(postUpdateSubscribers, sub, PostUpdateSubscriber.class);
-		unsubscribeIfInstance(postCreateStartingDeckSubscribers, sub, PostCreateStartingDeckSubscriber.class);
-		unsubscribeIfInstance(postCreateStartingRelicsSubscribers, sub, PostCreateStartingRelicsSubscriber.class);
-		unsubscribeIfInstance(postCreateShopRelicSubscribers, sub, PostCreateShopRelicSubscriber.class);
-		unsubscribeIfInstance(postCreateShopPotionSubscribers, sub, PostCreateShopPotionSubscriber.class);
-		unsubscribeIfInstance(editCardsSubscribers, sub, EditCardsSubscriber.class);
-		unsubscribeIfInstance(editRelicsSubscribers, sub, EditRelicsSubscriber.class);
-		unsubscribeIfInstance(editCharactersSubscribers, sub, EditCharactersSubscriber.class);
-		unsubscribeIfInstance(editStringsSubscribers, sub, EditStringsSubscriber.class);
-		unsubscribeIfInstance(editKeywordsSubscribers, sub, EditKeywordsSubscriber.class);
-		unsubscribeIfInstance(postBattleSubscribers, sub, PostBattleSubscriber.class);
-		unsubscribeIfInstance(setUnlocksSubscribers, sub, SetUnlocksSubscriber.class);
-		unsubscribeIfInstance(postPotionUseSubscribers, sub, PostPotionUseSubscriber.class);
-		unsubscribeIfInstance(prePotionUseSubscribers, sub, PrePotionUseSubscriber.class);
-		unsubscribeIfInstance(potionGetSubscribers, sub, PotionGetSubscriber.class);
-		unsubscribeIfInstance(relicGetSubscribers, sub, RelicGetSubscriber.class);
-		unsubscribeIfInstance(postPowerApplySubscribers, sub, PostPowerApplySubscriber.class);
-		unsubscribeIfInstance(onPowersModifiedSubscribers, sub, OnPowersModifiedSubscriber.class);
-		unsubscribeIfInstance(postDeathSubscribers, sub, PostDeathSubscriber.class);
+		for (SubscriberList<?> list : getSubscriberLists(sub.getClass())) {
+			list.remove(sub);
+		}
 	}
 	
 	// unsubscribe -
 	// only unsubscribe from a specific list
 	public static void unsubscribe(ISubscriber sub, Class<? extends ISubscriber> removalClass) {
-		if (removalClass.equals(StartActSubscriber.class)) {
-			startActSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCampfireSubscriber.class)) {
-			postCampfireSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDrawSubscriber.class)) {
-			postDrawSubscribers.remove(sub);
-		} else if (removalClass.equals(PostExhaustSubscriber.class)) {
-			postExhaustSubscribers.remove(sub);
-		} else if (removalClass.equals(OnCardUseSubscriber.class)) {
-			onCardUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDungeonInitializeSubscriber.class)) {
-			postDungeonInitializeSubscribers.remove(sub);
-		} else if (removalClass.equals(PostEnergyRechargeSubscriber.class)) {
-			postEnergyRechargeSubscribers.remove(sub);
-		} else if (removalClass.equals(PostInitializeSubscriber.class)) {
-			postInitializeSubscribers.remove(sub);
-		} else if (removalClass.equals(PreMonsterTurnSubscriber.class)) {
-			preMonsterTurnSubscribers.remove(sub);
-		} else if (removalClass.equals(RenderSubscriber.class)) {
-			renderSubscribers.remove(sub);
-		} else if (removalClass.equals(PreRenderSubscriber.class)) {
-			preRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(PostRenderSubscriber.class)) {
-			postRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(ModelRenderSubscriber.class)) {
-			modelRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(PreStartGameSubscriber.class)) {
-			preStartGameSubscribers.remove(sub);
-		} else if (removalClass.equals(StartGameSubscriber.class)) {
-			startGameSubscribers.remove(sub);
-		} else if (removalClass.equals(PreUpdateSubscriber.class)) {
-			preUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostUpdateSubscriber.class)) {
-			postUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateStartingDeckSubscriber.class)) {
-			postCreateStartingDeckSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateStartingRelicsSubscriber.class)) {
-			postCreateStartingRelicsSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateShopRelicSubscriber.class)) {
-			postCreateShopRelicSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateShopPotionSubscriber.class)) {
-			postCreateShopPotionSubscribers.remove(sub);
-		} else if (removalClass.equals(EditCardsSubscriber.class)) {
-			editCardsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditRelicsSubscriber.class)) {
-			editRelicsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditCharactersSubscriber.class)) {
-			editCharactersSubscribers.remove(sub);
-		} else if (removalClass.equals(EditStringsSubscriber.class)) {
-			editStringsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditKeywordsSubscriber.class)) {
-			editKeywordsSubscribers.remove(sub);
-		} else if (removalClass.equals(PostBattleSubscriber.class)) {
-			postBattleSubscribers.remove(sub);
-		} else if (removalClass.equals(SetUnlocksSubscriber.class)) {
-			setUnlocksSubscribers.remove(sub);
-		} else if (removalClass.equals(PostPotionUseSubscriber.class)) {
-			postPotionUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PrePotionUseSubscriber.class)) {
-			prePotionUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PotionGetSubscriber.class)) {
-			potionGetSubscribers.remove(sub);
-		} else if (removalClass.equals(RelicGetSubscriber.class)) {
-			relicGetSubscribers.remove(sub);
-		} else if (removalClass.equals(PostPowerApplySubscriber.class)) {
-			postPowerApplySubscribers.remove(sub);
-		} else if (removalClass.equals(OnPowersModifiedSubscriber.class)) {
-			onPowersModifiedSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDeathSubscriber.class)) {
-			postDeathSubscribers.remove(sub);
+		SubscriberList<?> list = subscriberLists.get(removalClass);
+		if (list != null) {
+			list.remove(sub);
 		}
 	}
 	
 	
 	// unsubscribeLater -
+	// sub keeps receiving hooks until the end of the current frame and is
+	// then removed together with every other pending removal
 	public static void unsubscribeLater(ISubscriber sub) {
-		toRemove.add(sub);
+		unsubscribeLater(sub, getSubscriberLists(sub.getClass()));
+	}
+
+	static void unsubscribeLater(ISubscriber sub, SubscriberList<?>[] lists) {
+		for (SubscriberList<?> list : lists) {
+			toRemove.computeIfAbsent(list, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(sub);
+		}
 	}
 
 	public static String convertToModID(String id) {
@@ -0,0 +1,96 @@
+package basemod;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+// ColorProfile - everything BaseMod knows about one custom card color
+//
+// profiles are looked up by name through the String getters on BaseMod and
+// by CardColor ordinal from the render patches, so drawing a card costs a
+// single array lookup instead of one map lookup per property
+public class ColorProfile {
+	private static final HashMap<String, ColorProfile> byName = new HashMap<>();
+	private static ColorProfile[] byOrdinal = new ColorProfile[0];
+
+	public final String name;
+
+	public Color bgColor;
+	public Color backColor;
+	public Color frameColor;
+	public Color frameOutlineColor;
+	public Color descBoxColor;
+	public Color trailVfxColor;
+	public Color glowColor;
+
+	// null until the color is added or its first card is counted
+	public Integer cardCount = null;
+	public Integer cardSeenCount = null;
+
+	// indexed by ColorTextures.Kind ordinal
+	public final String[] texturePaths = new String[ColorTextures.Kind.values().length];
+	public final Texture[] textures = new Texture[ColorTextures.Kind.values().length];
+
+	private ColorProfile(String name) {
+		this.name = name;
+	}
+
+	// get - null if name was never added
+	public static ColorProfile get(String name) {
+		return byName.get(name);
+	}
+
+	public static ColorProfile get(AbstractCard.CardColor color) {
+		int ordinal = color.ordinal();
+		return ordinal < byOrdinal.length ? byOrdinal[ordinal] : null;
+	}
+
+	// getOrCreate - the profile for name, an empty one is stored if it has none
+	public static ColorProfile getOrCreate(String name) {
+		ColorProfile profile = byName.get(name);
+		if (profile == null) {
+			profile = new ColorProfile(name);
+			byName.put(name, profile);
+			AbstractCard.CardColor color = toCardColor(name);
+			if (color != null) {
+				int ordinal = color.ordinal();
+				if (ordinal >= byOrdinal.length) {
+					byOrdinal = Arrays.copyOf(byOrdinal, ordinal + 1);
+				}
+				byOrdinal[ordinal] = profile;
+			}
+		}
+		return profile;
+	}
+
+	public static void remove(String name) {
+		ColorProfile profile = byName.remove(name);
+		if (profile == null) {
+			return;
+		}
+		AbstractCard.CardColor color = toCardColor(name);
+		if (color != null && color.ordinal() < byOrdinal.length && byOrdinal[color.ordinal()] == profile) {
+			byOrdinal[color.ordinal()] = null;
+		}
+	}
+
+	public Texture getTexture(ColorTextures.Kind kind) {
+		return textures[kind.ordinal()];
+	}
+
+	public String getTexturePath(ColorTextures.Kind kind) {
+		return texturePaths[kind.ordinal()];
+	}
+
+	// toCardColor - null for colors that are not part of the CardColor enum
+	private static AbstractCard.CardColor toCardColor(String name) {
+		try {
+			return AbstractCard.CardColor.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package basemod;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+// ColorTextures - the card background and energy orb textures of every
+// custom color
+//
+// BaseMod.addColor registers the ColorProfile of a color and all of its
+// textures are requested from AsyncTextureLoader right away, so the render
+// patches only do an array lookup and never load anything themselves. get()
+// returns null until a texture is uploaded, callers draw the vanilla default
+// meanwhile
+public class ColorTextures {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	public enum Kind {
+		ATTACK_BG,
+		SKILL_BG,
+		POWER_BG,
+		ENERGY_ORB,
+		ATTACK_BG_PORTRAIT,
+		SKILL_BG_PORTRAIT,
+		POWER_BG_PORTRAIT,
+		ENERGY_ORB_PORTRAIT
+	}
+
+	private ColorTextures() {}
+
+	// register - starts loading every texture path set on profile
+	public static void register(ColorProfile profile) {
+		for (Kind kind : Kind.values()) {
+			String path = profile.getTexturePath(kind);
+			if (path == null) {
+				continue;
+			}
+			AsyncTextureLoader.load(path, texture -> {
+				if (texture == null) {
+					logger.error("could not load " + kind + " texture for color " + profile.name);
+					return;
+				}
+				if (ColorProfile.get(profile.name) != profile) {
+					// removed or added again in the meantime
+					texture.dispose();
+					return;
+				}
+				profile.textures[kind.ordinal()] = texture;
+			});
+		}
+	}
+
+	// get - the texture of kind for color, null if it has none or it is still loading
+	public static Texture get(AbstractCard.CardColor color, Kind kind) {
+		ColorProfile profile = ColorProfile.get(color);
+		return profile == null ? null : profile.textures[kind.ordinal()];
+	}
+}
@@ -45,6 +45,7 @@ public class ConsoleTargetedPower implements RenderSubscriber, PostUpdateSubscri
     private void close()
     {
         this.isHidden = true;
+        BaseMod.unsubscribeLater(this);
     }
 
     private void updateTargetMode()
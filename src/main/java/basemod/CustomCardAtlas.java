@@ -0,0 +1,250 @@
+package basemod;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.core.Settings;
+import com.megacrit.cardcrawl.helpers.CardLibrary;
+
+import basemod.abstracts.CustomCard;
+
+// CustomCardAtlas - optional packing of custom card art into shared pages
+//
+// when enabled, pack() runs once CardLibrary has been initialized and copies
+// every CustomCard portrait and small orb, background and banner image into
+// a few large pages so cards drawn one after another keep the same texture
+// bound. portraits are swapped in place through the shared regions handed
+// out by CustomCard.getPortraitRegion so existing card instances follow
+public class CustomCardAtlas {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	public static final int PAGE_SIZE = 2048;
+	public static final int PADDING = 2;
+
+	private static final String CACHE_GROUP = "cardatlas";
+
+	private static boolean enabled = false;
+	private static TextureAtlas atlas = null;
+	private static HashMap<String, TextureAtlas.AtlasRegion> regions = new HashMap<>();
+
+	private CustomCardAtlas() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	// setEnabled - has to be called before the card library is initialized,
+	// i.e. from a mod's initialize or receivePostInitialize at the latest
+	public static void setEnabled(boolean enabled) {
+		CustomCardAtlas.enabled = enabled;
+	}
+
+	public static boolean isPacked() {
+		return atlas != null;
+	}
+
+	// findRegion - the packed region for an image path, null if not packed
+	public static TextureAtlas.AtlasRegion findRegion(String path) {
+		if (path == null || atlas == null) {
+			return null;
+		}
+		return regions.get(path);
+	}
+
+	// pack - builds the atlas pages, called after CardLibrary.initialize
+	public static void pack() {
+		if (!enabled || atlas != null) {
+			return;
+		}
+
+		Set<String> portraits = CustomCard.getPortraitPaths();
+		Set<String> paths = new LinkedHashSet<>(portraits);
+		for (AbstractCard card : CardLibrary.cards.values()) {
+			if (card instanceof CustomCard) {
+				CustomCard customCard = (CustomCard) card;
+				addPath(paths, customCard.textureOrbSmallImg);
+				addPath(paths, customCard.textureBackgroundSmallImg);
+				addPath(paths, customCard.textureBannerSmallImg);
+			}
+		}
+		if (paths.isEmpty()) {
+			return;
+		}
+		// sorted so the result only depends on which images are packed
+		ArrayList<String> sorted = new ArrayList<>(paths);
+		Collections.sort(sorted);
+
+		String key = null;
+		if (TextureDiskCache.isEnabled()) {
+			try {
+				key = new TextureDiskCache.Key()
+						.add(PAGE_SIZE)
+						.add(PADDING)
+						.addFiles(sorted)
+						.build();
+			} catch (IOException | RuntimeException e) {
+				logger.error("could not hash card atlas images, not caching the atlas", e);
+			}
+		}
+		if (key == null || !loadCached(key)) {
+			build(sorted, key);
+		}
+		if (atlas == null) {
+			return;
+		}
+
+		for (Map.Entry<String, TextureAtlas.AtlasRegion> region : regions.entrySet()) {
+			if (portraits.contains(region.getKey())) {
+				CustomCard.movePortrait(region.getKey(), region.getValue());
+			}
+		}
+
+		logger.info("packed " + regions.size() + " custom card images into " + atlas.getTextures().size + " atlas pages");
+	}
+
+	// build - packs the images at paths and stores the pages under key
+	private static void build(List<String> paths, String key) {
+		// largest images first keeps the pages dense
+		ArrayList<Map.Entry<String, Pixmap>> images = new ArrayList<>();
+		for (String path : paths) {
+			try {
+				Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+				if (pixmap.getWidth() > PAGE_SIZE - 2 * PADDING || pixmap.getHeight() > PAGE_SIZE - 2 * PADDING) {
+					pixmap.dispose();
+					continue;
+				}
+				images.add(new AbstractMap.SimpleEntry<>(path, pixmap));
+			} catch (Exception e) {
+				logger.error("could not load " + path + " for the card atlas", e);
+			}
+		}
+		if (images.isEmpty()) {
+			return;
+		}
+		Collections.sort(images, (a, b) -> Integer.compare(
+				b.getValue().getWidth() * b.getValue().getHeight(),
+				a.getValue().getWidth() * a.getValue().getHeight()));
+
+		PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, false);
+		for (Map.Entry<String, Pixmap> image : images) {
+			packer.pack(image.getKey(), image.getValue());
+			image.getValue().dispose();
+		}
+		atlas = packer.generateTextureAtlas(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+		if (key != null) {
+			saveCached(key, packer);
+		}
+		packer.dispose();
+
+		for (Map.Entry<String, Pixmap> image : images) {
+			String path = image.getKey();
+			TextureAtlas.AtlasRegion region = atlas.findRegion(path);
+			if (region != null) {
+				regions.put(path, region);
+			}
+		}
+	}
+
+	// saveCached - writes every page and an index of the regions on them
+	private static void saveCached(String key, PixmapPacker packer) {
+		ArrayList<String> index = new ArrayList<>();
+		Array<PixmapPacker.Page> pages = packer.getPages();
+		index.add(Integer.toString(pages.size));
+		for (int i = 0; i < pages.size; i++) {
+			PixmapPacker.Page page = pages.get(i);
+			TextureDiskCache.savePixmap(CACHE_GROUP, key, "page" + i, page.getPixmap());
+			for (ObjectMap.Entry<String, Rectangle> rect : page.getRects()) {
+				index.add(i + " " + (int) rect.value.x + " " + (int) rect.value.y
+						+ " " + (int) rect.value.width + " " + (int) rect.value.height + " " + rect.key);
+			}
+		}
+		// written last, a missing index means the entry is incomplete
+		TextureDiskCache.saveLines(CACHE_GROUP, key, "index", index);
+	}
+
+	// loadCached - false if key is not cached or the entry is unusable
+	private static boolean loadCached(String key) {
+		List<String> index = TextureDiskCache.loadLines(CACHE_GROUP, key, "index");
+		if (index == null || index.isEmpty()) {
+			return false;
+		}
+
+		int pageCount;
+		try {
+			pageCount = Integer.parseInt(index.get(0).trim());
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		Texture[] pages = new Texture[pageCount];
+		for (int i = 0; i < pageCount; i++) {
+			Pixmap pixmap = TextureDiskCache.loadPixmap(CACHE_GROUP, key, "page" + i);
+			if (pixmap == null) {
+				for (int j = 0; j < i; j++) {
+					pages[j].dispose();
+				}
+				return false;
+			}
+			pages[i] = new Texture(pixmap);
+			pages[i].setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+			pixmap.dispose();
+		}
+
+		atlas = new TextureAtlas();
+		try {
+			for (int i = 1; i < index.size(); i++) {
+				String[] parts = index.get(i).split(" ", 6);
+				String path = parts[5];
+				regions.put(path, atlas.addRegion(path, pages[Integer.parseInt(parts[0])],
+						Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+						Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+			}
+		} catch (RuntimeException e) {
+			logger.warn("card atlas cache index is broken, repacking");
+			for (Texture page : pages) {
+				page.dispose();
+			}
+			atlas = null;
+			regions.clear();
+			return false;
+		}
+		logger.info("loaded card atlas from cache");
+		return true;
+	}
+
+	private static void addPath(Set<String> paths, String path) {
+		if (path != null) {
+			paths.add(path);
+		}
+	}
+
+	// render - draws a packed card layer the same way AbstractCard.renderHelper
+	// draws a full 512x512 texture
+	public static void render(AbstractCard card, SpriteBatch sb, Color color, TextureRegion region, float drawX, float drawY) {
+		sb.setColor(color);
+		sb.draw(region, drawX, drawY, 256.0F, 256.0F, 512.0F, 512.0F,
+				card.drawScale * Settings.scale, card.drawScale * Settings.scale, card.angle);
+	}
+}
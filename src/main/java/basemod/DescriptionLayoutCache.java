@@ -0,0 +1,183 @@
+package basemod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.cards.DescriptionLine;
+import com.megacrit.cardcrawl.core.Settings;
+import com.megacrit.cardcrawl.helpers.FontHelper;
+
+// DescriptionLayoutCache - initializeDescription results shared between cards
+//
+// every copy of a card wraps and measures the same rawDescription again; the
+// first card to lay out a description stores the resulting lines and keywords
+// here and later cards of the same class with the same rawDescription,
+// description font and scale take them instead of running
+// initializeDescription's body. The stored layout is taken after BaseMod's
+// own initializeDescription patches, so [E] keywords are already merged.
+// lines are copied in and out of the cache since DescriptionLine is mutable
+//
+// off by default: a hit returns before the body, which depending on patch
+// order also skips other mods' Insert and Postfix patches on
+// initializeDescription. turn it on with setEnabled(true) only when no mod
+// in the pack patches that method. card classes that override
+// initializeDescription are never cached
+public class DescriptionLayoutCache {
+	private static boolean enabled = false;
+	private static int maxSize = 2048;
+
+	private static final LinkedHashMap<Key, Layout> layouts = new LinkedHashMap<>(256, 0.75f, true);
+	private static final HashMap<Class<?>, Boolean> cacheableClasses = new HashMap<>();
+
+	// the card restore() just filled, store() is skipped for it
+	private static AbstractCard restored = null;
+
+	private static class Key {
+		final Class<?> cardClass;
+		final String rawDescription;
+		final BitmapFont font;
+		final float scale;
+		final int hash;
+
+		Key(Class<?> cardClass, String rawDescription, BitmapFont font, float scale) {
+			this.cardClass = cardClass;
+			this.rawDescription = rawDescription;
+			this.font = font;
+			this.scale = scale;
+			this.hash = 31 * (31 * (31 * cardClass.hashCode() + rawDescription.hashCode()) + System.identityHashCode(font)) + Float.floatToIntBits(scale);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return cardClass == other.cardClass && font == other.font && scale == other.scale && rawDescription.equals(other.rawDescription);
+		}
+	}
+
+	private static class Layout {
+		final ArrayList<DescriptionLine> lines;
+		final ArrayList<String> keywords;
+
+		Layout(ArrayList<DescriptionLine> lines, ArrayList<String> keywords) {
+			this.lines = lines;
+			this.keywords = keywords;
+		}
+	}
+
+	private DescriptionLayoutCache() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		DescriptionLayoutCache.enabled = enabled;
+		clear();
+	}
+
+	public static int getMaxSize() {
+		return maxSize;
+	}
+
+	public static void setMaxSize(int size) {
+		maxSize = Math.max(1, size);
+		trim();
+	}
+
+	// clear - called when keywords change, they decide how words are laid out
+	public static void clear() {
+		layouts.clear();
+		restored = null;
+	}
+
+	// restore - fills card's description and keywords from the cache, returns
+	// false if initializeDescription has to run
+	public static boolean restore(AbstractCard card) {
+		restored = null;
+		Key key = keyFor(card);
+		if (key == null) {
+			return false;
+		}
+		Layout layout = layouts.get(key);
+		if (layout == null) {
+			return false;
+		}
+
+		card.description.clear();
+		copyLines(layout.lines, card.description);
+		card.keywords.clear();
+		card.keywords.addAll(layout.keywords);
+		restored = card;
+		return true;
+	}
+
+	// store - remembers card's freshly initialized description
+	public static void store(AbstractCard card) {
+		if (restored == card) {
+			restored = null;
+			return;
+		}
+		Key key = keyFor(card);
+		if (key == null) {
+			return;
+		}
+		ArrayList<DescriptionLine> lines = new ArrayList<>(card.description.size());
+		copyLines(card.description, lines);
+		layouts.put(key, new Layout(lines, new ArrayList<>(card.keywords)));
+		trim();
+	}
+
+	private static void copyLines(ArrayList<DescriptionLine> from, ArrayList<DescriptionLine> to) {
+		for (DescriptionLine line : from) {
+			to.add(new DescriptionLine(line.text, line.width));
+		}
+	}
+
+	private static Key keyFor(AbstractCard card) {
+		if (!enabled || card.rawDescription == null || FontHelper.cardDescFont_N == null || !isCacheable(card.getClass())) {
+			return null;
+		}
+		return new Key(card.getClass(), card.rawDescription, FontHelper.cardDescFont_N, Settings.scale);
+	}
+
+	// isCacheable - false if cardClass or a superclass below AbstractCard
+	// overrides initializeDescription
+	private static boolean isCacheable(Class<?> cardClass) {
+		Boolean cacheable = cacheableClasses.get(cardClass);
+		if (cacheable == null) {
+			cacheable = true;
+			for (Class<?> c = cardClass; c != null && c != AbstractCard.class; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("initializeDescription");
+					cacheable = false;
+					break;
+				} catch (NoSuchMethodException e) {
+					// not overridden here
+				}
+			}
+			cacheableClasses.put(cardClass, cacheable);
+		}
+		return cacheable;
+	}
+
+	private static void trim() {
+		Iterator<Map.Entry<Key, Layout>> it = layouts.entrySet().iterator();
+		while (layouts.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+}
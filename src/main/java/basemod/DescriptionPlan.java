@@ -0,0 +1,144 @@
+package basemod;
+
+import java.util.HashMap;
+
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+import basemod.abstracts.DynamicVariable;
+
+// DescriptionPlan - card description words parsed once instead of per frame
+//
+// renderDescription hands BaseMod's patches every word of every visible card
+// each frame. get() returns what BaseMod needs to know about a word (energy
+// icon, dynamic variable key and trailing text) from a cache that compile()
+// fills for all words of a card when its description is initialized, so the
+// render patches do a map lookup instead of running regular expressions
+public class DescriptionPlan {
+	// words whose description changes every frame must not grow the cache forever
+	private static final int MAX_WORDS = 8192;
+
+	private static final HashMap<String, Word> words = new HashMap<>();
+	private static final String[] numbers = new String[100];
+
+	public enum Kind {
+		TEXT,
+		// [R], [G], [B] or [E], optionally followed by a period
+		ENERGY,
+		// !key! followed by optional trailing text
+		DYNAMIC_VARIABLE
+	}
+
+	public static class Word {
+		public final Kind kind;
+		// ENERGY: the word ends in a period
+		public final boolean period;
+		// DYNAMIC_VARIABLE: the variable key and the text after the closing !
+		public final String key;
+		public final String end;
+		private DynamicVariable variable;
+
+		private Word(Kind kind, boolean period, String key, String end) {
+			this.kind = kind;
+			this.period = period;
+			this.key = key;
+			this.end = end;
+		}
+
+		// getVariable - resolved on first use, variables may be registered
+		// after the first cards were created
+		public DynamicVariable getVariable() {
+			if (variable == null && key != null) {
+				variable = BaseMod.cardDynamicVariableMap.get(key);
+			}
+			return variable;
+		}
+	}
+
+	private static final Word TEXT = new Word(Kind.TEXT, false, null, null);
+
+	private DescriptionPlan() {}
+
+	// compile - parses every word of card's description ahead of rendering
+	public static void compile(AbstractCard card) {
+		if (card.description == null) {
+			return;
+		}
+		for (int i = 0; i < card.description.size(); i++) {
+			String text = card.description.get(i).text;
+			if (text == null) {
+				continue;
+			}
+			int start = 0;
+			while (start < text.length()) {
+				int end = text.indexOf(' ', start);
+				if (end < 0) {
+					end = text.length();
+				}
+				if (end > start) {
+					// the renderer sees every word with a trailing space
+					get(text.substring(start, end) + " ");
+				}
+				start = end + 1;
+			}
+		}
+	}
+
+	// get - the parsed form of a word as renderDescription passes it
+	public static Word get(String word) {
+		Word result = words.get(word);
+		if (result == null) {
+			result = parse(word);
+			if (words.size() >= MAX_WORDS) {
+				words.clear();
+			}
+			words.put(word, result);
+		}
+		return result;
+	}
+
+	// clear - forgets every parsed word, called when a dynamic variable is
+	// added so no word keeps a replaced variable
+	public static void clear() {
+		words.clear();
+	}
+
+	// numberText - the text of a dynamic variable value, card numbers are
+	// small so their strings are kept instead of built every frame
+	public static String numberText(int num) {
+		if (num < 0 || num >= numbers.length) {
+			return Integer.toString(num);
+		}
+		if (numbers[num] == null) {
+			numbers[num] = Integer.toString(num);
+		}
+		return numbers[num];
+	}
+
+	// parse - same matches as the patterns "\[([RGBE])\](\.?) " and
+	// "!(.+)!(.*) " used to give
+	private static Word parse(String word) {
+		int length = word.length();
+		for (int i = word.indexOf('['); i >= 0 && i + 3 < length; i = word.indexOf('[', i + 1)) {
+			if ("RGBE".indexOf(word.charAt(i + 1)) >= 0 && word.charAt(i + 2) == ']') {
+				if (word.charAt(i + 3) == ' ') {
+					return new Word(Kind.ENERGY, false, null, null);
+				}
+				if (word.charAt(i + 3) == '.' && i + 4 < length && word.charAt(i + 4) == ' ') {
+					return new Word(Kind.ENERGY, true, null, null);
+				}
+			}
+		}
+
+		int open = word.indexOf('!');
+		if (open >= 0) {
+			int lastSpace = word.lastIndexOf(' ');
+			int close = lastSpace > 0 ? word.lastIndexOf('!', lastSpace - 1) : -1;
+			if (close >= open + 2) {
+				return new Word(Kind.DYNAMIC_VARIABLE, false, word.substring(open + 1, close), word.substring(close + 1, lastSpace));
+			}
+			// no match keeps the whole word as key, like the old pattern did
+			return new Word(Kind.DYNAMIC_VARIABLE, false, word, "");
+		}
+		return TEXT;
+	}
+}
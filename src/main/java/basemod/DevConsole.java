@@ -174,6 +174,14 @@ public class DevConsole
 			cmdMaxHP(tokens);
 			break;
 		}
+		case "profile": {
+			cmdProfile(tokens);
+			break;
+		}
+		case "reflect": {
+			cmdReflect(tokens);
+			break;
+		}
 		default: {
 			log("invalid command");
 			break;
@@ -221,7 +229,91 @@ public class DevConsole
 	// print help info
 	private static void cmdHelp() {
 		log("options are: relic hand info kill gold energy deck...");
-		log("draw fight event potion unlock power clear help hp maxhp");
+		log("draw fight event potion unlock power clear help hp maxhp profile reflect");
+	}
+
+	private static void cmdProfile(String[] tokens) {
+		if (tokens.length < 2) {
+			cmdProfileHelp();
+			return;
+		}
+
+		switch (tokens[1].toLowerCase()) {
+		case "on":
+			HookProfiler.setEnabled(true);
+			log("hook profiling enabled");
+			break;
+		case "off":
+			HookProfiler.setEnabled(false);
+			log("hook profiling disabled");
+			break;
+		case "reset":
+			HookProfiler.reset();
+			log("hook profile reset");
+			break;
+		case "dump":
+			HookProfiler.dump();
+			for (String line : HookProfiler.summary(3)) {
+				log(line);
+			}
+			log("full profile written to log");
+			break;
+		default:
+			cmdProfileHelp();
+			break;
+		}
+	}
+
+	private static void cmdProfileHelp() {
+		couldNotParse();
+		log("options are:");
+		log("* on");
+		log("* off");
+		log("* reset");
+		log("* dump");
+	}
+
+	private static void cmdReflect(String[] tokens) {
+		if (tokens.length < 2) {
+			cmdReflectHelp();
+			return;
+		}
+
+		switch (tokens[1].toLowerCase()) {
+		case "on":
+			ReflectionProfiler.setEnabled(true);
+			log("reflection profiling enabled");
+			break;
+		case "off":
+			ReflectionProfiler.setEnabled(false);
+			log("reflection profiling disabled");
+			break;
+		case "reset":
+			ReflectionProfiler.reset();
+			log("reflection profile reset");
+			break;
+		case "dump":
+			ReflectionProfiler.dump();
+			for (String line : ReflectionProfiler.summary(3)) {
+				log(line);
+			}
+			if (ReflectionProfiler.dumpCsv(ReflectionProfiler.CSV_FILE)) {
+				log("full profile written to " + ReflectionProfiler.CSV_FILE);
+			}
+			break;
+		default:
+			cmdReflectHelp();
+			break;
+		}
+	}
+
+	private static void cmdReflectHelp() {
+		couldNotParse();
+		log("options are:");
+		log("* on");
+		log("* off");
+		log("* reset");
+		log("* dump");
 	}
 
 	private static void cmdPower(String[] tokens) {
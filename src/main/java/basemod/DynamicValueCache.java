@@ -0,0 +1,171 @@
+package basemod;
+
+import java.util.IdentityHashMap;
+
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+import basemod.abstracts.DynamicVariable;
+import basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard.AbstractCardAccessors;
+
+// DynamicValueCache - memoized DynamicVariable results per card
+//
+// description rendering asks every !X! variable of every visible card for its
+// values each frame; this keeps the answers on the card until something that
+// can change them happens. A card's values are dropped when applyPowers or
+// calculateCardDamage runs on it (see DamageHooks), when one of the vanilla
+// number fields changes (which covers upgrades) and when invalidateAll() is
+// called. Variables that return false from DynamicVariable.cacheValues() are
+// always asked directly
+public class DynamicValueCache {
+	private static boolean enabled = true;
+
+	// bumped by invalidateAll, every card compares it against its own copy
+	private static int epoch = 0;
+
+	private static final int MODIFIED = 1;
+	private static final int VALUE = 2;
+	private static final int BASE_VALUE = 4;
+	private static final int UPGRADED = 8;
+
+	private static class Entry {
+		int known = 0;
+		boolean modified;
+		int value;
+		int baseValue;
+		boolean upgraded;
+	}
+
+	private static class Values {
+		int epoch = DynamicValueCache.epoch;
+		final int[] fields = new int[FIELD_COUNT];
+		final IdentityHashMap<DynamicVariable, Entry> entries = new IdentityHashMap<>();
+	}
+
+	private static final int FIELD_COUNT = 12;
+
+	private DynamicValueCache() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		DynamicValueCache.enabled = enabled;
+		invalidateAll();
+	}
+
+	// invalidate - forgets card's values, they are asked for again on next use
+	public static void invalidate(AbstractCard card) {
+		Values values = (Values) ((AbstractCardAccessors.Access) card).basemod_getDynamicValues();
+		if (values != null) {
+			values.entries.clear();
+		}
+	}
+
+	// invalidateAll - forgets the values of every card
+	public static void invalidateAll() {
+		epoch++;
+	}
+
+	public static boolean isModified(DynamicVariable dv, AbstractCard card) {
+		Entry entry = getEntry(dv, card);
+		if (entry == null) {
+			return dv.isModified(card);
+		}
+		if ((entry.known & MODIFIED) == 0) {
+			entry.modified = dv.isModified(card);
+			entry.known |= MODIFIED;
+		}
+		return entry.modified;
+	}
+
+	public static int value(DynamicVariable dv, AbstractCard card) {
+		Entry entry = getEntry(dv, card);
+		if (entry == null) {
+			return dv.value(card);
+		}
+		if ((entry.known & VALUE) == 0) {
+			entry.value = dv.value(card);
+			entry.known |= VALUE;
+		}
+		return entry.value;
+	}
+
+	public static int baseValue(DynamicVariable dv, AbstractCard card) {
+		Entry entry = getEntry(dv, card);
+		if (entry == null) {
+			return dv.baseValue(card);
+		}
+		if ((entry.known & BASE_VALUE) == 0) {
+			entry.baseValue = dv.baseValue(card);
+			entry.known |= BASE_VALUE;
+		}
+		return entry.baseValue;
+	}
+
+	public static boolean upgraded(DynamicVariable dv, AbstractCard card) {
+		Entry entry = getEntry(dv, card);
+		if (entry == null) {
+			return dv.upgraded(card);
+		}
+		if ((entry.known & UPGRADED) == 0) {
+			entry.upgraded = dv.upgraded(card);
+			entry.known |= UPGRADED;
+		}
+		return entry.upgraded;
+	}
+
+	// getEntry - null if dv's values must not be cached
+	private static Entry getEntry(DynamicVariable dv, AbstractCard card) {
+		if (!enabled || card == null || !dv.cacheValues()) {
+			return null;
+		}
+
+		AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+		Values values = (Values) access.basemod_getDynamicValues();
+		if (values == null) {
+			values = new Values();
+			readFields(card, values.fields);
+			access.basemod_setDynamicValues(values);
+		} else if (values.epoch != epoch || !readFields(card, values.fields)) {
+			values.epoch = epoch;
+			values.entries.clear();
+		}
+
+		Entry entry = values.entries.get(dv);
+		if (entry == null) {
+			entry = new Entry();
+			values.entries.put(dv, entry);
+		}
+		return entry;
+	}
+
+	// readFields - stores the card's vanilla number fields in fields, returns
+	// false if any of them changed since the last call
+	private static boolean readFields(AbstractCard card, int[] fields) {
+		boolean same = true;
+		same &= set(fields, 0, card.baseDamage);
+		same &= set(fields, 1, card.damage);
+		same &= set(fields, 2, card.baseBlock);
+		same &= set(fields, 3, card.block);
+		same &= set(fields, 4, card.baseMagicNumber);
+		same &= set(fields, 5, card.magicNumber);
+		same &= set(fields, 6, card.cost);
+		same &= set(fields, 7, card.costForTurn);
+		same &= set(fields, 8, card.misc);
+		same &= set(fields, 9, card.timesUpgraded);
+		same &= set(fields, 10, card.upgraded ? 1 : 0);
+		same &= set(fields, 11, (card.isDamageModified ? 1 : 0)
+				| (card.isBlockModified ? 2 : 0)
+				| (card.isMagicNumberModified ? 4 : 0));
+		return same;
+	}
+
+	private static boolean set(int[] fields, int index, int value) {
+		if (fields[index] == value) {
+			return true;
+		}
+		fields[index] = value;
+		return false;
+	}
+}
@@ -0,0 +1,162 @@
+package basemod;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+// FieldAccessor - cached, resolved access to a single declared field
+//
+// of(clazz, name) looks the field up once and keeps the result, including
+// when the field does not exist, so repeated calls from update loops skip
+// getDeclaredField and setAccessible; reads and writes go through method
+// handles built from the field
+public final class FieldAccessor {
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, FieldAccessor>> cache = new ConcurrentHashMap<>();
+
+	private static final MethodType STATIC_GETTER = MethodType.methodType(Object.class);
+	private static final MethodType INSTANCE_GETTER = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType STATIC_SETTER = MethodType.methodType(void.class, Object.class);
+	private static final MethodType INSTANCE_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<?> clazz;
+	private final String name;
+	private final Field field;
+	private final Exception failure;
+	private final boolean isStatic;
+
+	private MethodHandle getter = null;
+	private MethodHandle setter = null;
+	private boolean finalRemoved = false;
+
+	private FieldAccessor(Class<?> clazz, String name) {
+		this.clazz = clazz;
+		this.name = name;
+		Field found = null;
+		Exception error = null;
+		try {
+			found = clazz.getDeclaredField(name);
+			found.setAccessible(true);
+		} catch (Exception e) {
+			found = null;
+			error = e;
+		}
+		this.field = found;
+		this.failure = error;
+		this.isStatic = found != null && Modifier.isStatic(found.getModifiers());
+	}
+
+	// of - the accessor for field name declared by clazz, never null
+	public static FieldAccessor of(Class<?> clazz, String name) {
+		long start = ReflectionProfiler.start();
+		ConcurrentHashMap<String, FieldAccessor> fields = cache.get(clazz);
+		if (fields == null) {
+			fields = cache.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
+		}
+		FieldAccessor accessor = fields.get(name);
+		if (accessor == null) {
+			accessor = fields.computeIfAbsent(name, k -> new FieldAccessor(clazz, k));
+		}
+		ReflectionProfiler.record(ReflectionProfiler.Kind.LOOKUP, start);
+		return accessor;
+	}
+
+	// exists - false if the lookup failed, get/set then throw the original error
+	public boolean exists() {
+		return field != null;
+	}
+
+	public Field getField() {
+		return field;
+	}
+
+	// get - obj is ignored for static fields
+	public Object get(Object obj) {
+		long start = ReflectionProfiler.start();
+		try {
+			MethodHandle handle = getter;
+			if (handle == null) {
+				handle = buildGetter();
+			}
+			return isStatic ? handle.invokeExact() : handle.invokeExact(obj);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(describe("get"), t);
+		} finally {
+			ReflectionProfiler.record(ReflectionProfiler.Kind.GET, start);
+		}
+	}
+
+	// set - obj is ignored for static fields
+	public void set(Object obj, Object value) {
+		long start = ReflectionProfiler.start();
+		try {
+			MethodHandle handle = setter;
+			if (handle == null) {
+				handle = buildSetter();
+			}
+			if (isStatic) {
+				handle.invokeExact(value);
+			} else {
+				handle.invokeExact(obj, value);
+			}
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(describe("set"), t);
+		} finally {
+			ReflectionProfiler.record(ReflectionProfiler.Kind.SET, start);
+		}
+	}
+
+	// setFinal - like set but clears the final modifier first, only done once
+	public void setFinal(Object obj, Object value) {
+		if (!finalRemoved) {
+			removeFinal();
+		}
+		set(obj, value);
+	}
+
+	private MethodHandle buildGetter() throws Exception {
+		checkFound();
+		getter = MethodHandles.lookup().unreflectGetter(field)
+				.asType(isStatic ? STATIC_GETTER : INSTANCE_GETTER);
+		return getter;
+	}
+
+	private MethodHandle buildSetter() throws Exception {
+		checkFound();
+		setter = MethodHandles.lookup().unreflectSetter(field)
+				.asType(isStatic ? STATIC_SETTER : INSTANCE_SETTER);
+		return setter;
+	}
+
+	private void removeFinal() {
+		try {
+			checkFound();
+			Field modifiersField = Field.class.getDeclaredField("modifiers");
+			modifiersField.setAccessible(true);
+			modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+			// a setter built while the field was still final would not be usable
+			setter = null;
+			finalRemoved = true;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(describe("unfinal"), e);
+		}
+	}
+
+	private void checkFound() throws Exception {
+		if (field == null) {
+			throw failure;
+		}
+	}
+
+	private String describe(String action) {
+		return "could not " + action + " field " + name + " of " + clazz.getName();
+	}
+}
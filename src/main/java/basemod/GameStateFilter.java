@@ -0,0 +1,65 @@
+package basemod;
+
+import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
+import com.megacrit.cardcrawl.rooms.AbstractRoom;
+
+// GameStateFilter - restricts a subscriber to the game states it cares about
+//
+// the current state is packed into an int once per frame by update() so
+// SubscriberList can keep one ready-made subscriber array per state
+public class GameStateFilter {
+	private static final int MAIN_MENU_BIT = 1;
+	private static final int DUNGEON_BIT = 2;
+	private static final int COMBAT_BIT = 4;
+	private static final int SCREEN_SHIFT = 3;
+
+	public static final GameStateFilter MAIN_MENU = new GameStateFilter(MAIN_MENU_BIT, null);
+	public static final GameStateFilter IN_DUNGEON = new GameStateFilter(DUNGEON_BIT, null);
+	public static final GameStateFilter IN_COMBAT = new GameStateFilter(DUNGEON_BIT | COMBAT_BIT, null);
+
+	private static int current = 0;
+
+	private final int requiredBits;
+	private final AbstractDungeon.CurrentScreen screen;
+
+	private GameStateFilter(int requiredBits, AbstractDungeon.CurrentScreen screen) {
+		this.requiredBits = requiredBits;
+		this.screen = screen;
+	}
+
+	// screen - in a dungeon with the given screen up
+	public static GameStateFilter screen(AbstractDungeon.CurrentScreen screen) {
+		return new GameStateFilter(DUNGEON_BIT, screen);
+	}
+
+	public boolean matches(int state) {
+		if ((state & requiredBits) != requiredBits) {
+			return false;
+		}
+		return screen == null || (state >>> SCREEN_SHIFT) == screen.ordinal() + 1;
+	}
+
+	// current - the state as of the last update()
+	public static int current() {
+		return current;
+	}
+
+	// update - recomputes the current state, called by BaseMod each frame
+	public static void update() {
+		int state = 0;
+		if (CardCrawlGame.mode == CardCrawlGame.GameMode.CHAR_SELECT) {
+			state |= MAIN_MENU_BIT;
+		} else if (CardCrawlGame.mode == CardCrawlGame.GameMode.GAMEPLAY && AbstractDungeon.player != null) {
+			state |= DUNGEON_BIT;
+			AbstractRoom room = AbstractDungeon.getCurrRoom();
+			if (room != null && room.phase == AbstractRoom.RoomPhase.COMBAT) {
+				state |= COMBAT_BIT;
+			}
+			if (AbstractDungeon.screen != null) {
+				state |= (AbstractDungeon.screen.ordinal() + 1) << SCREEN_SHIFT;
+			}
+		}
+		current = state;
+	}
+}
@@ -0,0 +1,224 @@
+package basemod;
+
+import java.io.File;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import basemod.interfaces.ISubscriber;
+
+// HookProfiler - opt-in timing of every subscriber call made by BaseMod.publish*
+//
+// publishers wrap each call in start()/record(); while disabled start() returns 0
+// and record() returns immediately so the cost is a static field read per call
+public class HookProfiler {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	// frames whose subscriber time exceeds this count as over budget (60 fps)
+	public static long frameBudgetNanos = 16_666_667L;
+
+	private static boolean enabled = false;
+
+	// keyed by subscriberLabel rather than the subscriber itself so profiling
+	// doesn't keep unsubscribed objects alive
+	private static HashMap<Class<?>, HashMap<String, Stat>> stats = new HashMap<>();
+	private static HashMap<Class<?>, String> modNames = new HashMap<>();
+
+	private static long frames = 0;
+	private static long framesOverBudget = 0;
+	private static long frameNanos = 0;
+	private static long maxFrameNanos = 0;
+
+	public static class Stat {
+		public final Class<?> hook;
+		public final String subscriber;
+		public final String mod;
+		public long calls = 0;
+		public long totalNanos = 0;
+		public long maxNanos = 0;
+
+		private Stat(Class<?> hook, Object sub, String label) {
+			this.hook = hook;
+			this.subscriber = label;
+			this.mod = getModName(sub.getClass());
+		}
+
+		public double averageNanos() {
+			return calls == 0 ? 0 : (double) totalNanos / calls;
+		}
+
+		@Override
+		public String toString() {
+			return mod + " " + subscriber + " " + hook.getSimpleName()
+					+ " calls=" + calls
+					+ " total=" + (totalNanos / 1000) + "us"
+					+ " avg=" + (long) (averageNanos() / 1000) + "us"
+					+ " max=" + (maxNanos / 1000) + "us";
+		}
+	}
+
+	private HookProfiler() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		logger.info("hook profiler " + (enabled ? "enabled" : "disabled"));
+		HookProfiler.enabled = enabled;
+		frameNanos = 0;
+	}
+
+	public static void reset() {
+		stats.clear();
+		frames = 0;
+		framesOverBudget = 0;
+		frameNanos = 0;
+		maxFrameNanos = 0;
+	}
+
+	// start - call right before invoking a subscriber
+	public static long start() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	// record - call right after invoking a subscriber with the result of start()
+	public static void record(Class<? extends ISubscriber> hook, Object sub, long start) {
+		if (start == 0L) {
+			return;
+		}
+
+		long elapsed = System.nanoTime() - start;
+		HashMap<String, Stat> hookStats = stats.get(hook);
+		if (hookStats == null) {
+			hookStats = new HashMap<>();
+			stats.put(hook, hookStats);
+		}
+		String label = subscriberLabel(sub);
+		Stat stat = hookStats.get(label);
+		if (stat == null) {
+			stat = new Stat(hook, sub, label);
+			hookStats.put(label, stat);
+		}
+		stat.calls++;
+		stat.totalNanos += elapsed;
+		if (elapsed > stat.maxNanos) {
+			stat.maxNanos = elapsed;
+		}
+		frameNanos += elapsed;
+	}
+
+	// endFrame - closes the frame budget window, called once per frame
+	public static void endFrame() {
+		if (!enabled) {
+			return;
+		}
+
+		frames++;
+		if (frameNanos > frameBudgetNanos) {
+			framesOverBudget++;
+		}
+		if (frameNanos > maxFrameNanos) {
+			maxFrameNanos = frameNanos;
+		}
+		frameNanos = 0;
+	}
+
+	public static long getFrames() {
+		return frames;
+	}
+
+	public static long getFramesOverBudget() {
+		return framesOverBudget;
+	}
+
+	public static long getMaxFrameNanos() {
+		return maxFrameNanos;
+	}
+
+	// getStats - every recorded subscriber, most total time first
+	public static List<Stat> getStats() {
+		List<Stat> result = new ArrayList<>();
+		for (HashMap<String, Stat> hookStats : stats.values()) {
+			result.addAll(hookStats.values());
+		}
+		result.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+		return result;
+	}
+
+	// getTotalNanosByMod - total subscriber time per owning mod
+	public static Map<String, Long> getTotalNanosByMod() {
+		Map<String, Long> result = new HashMap<>();
+		for (Stat stat : getStats()) {
+			result.merge(stat.mod, stat.totalNanos, Long::sum);
+		}
+		return result;
+	}
+
+	// getStatsByMod - recorded subscribers grouped by owning mod
+	public static Map<String, List<Stat>> getStatsByMod() {
+		Map<String, List<Stat>> result = new HashMap<>();
+		for (Stat stat : getStats()) {
+			result.computeIfAbsent(stat.mod, k -> new ArrayList<>()).add(stat);
+		}
+		return result;
+	}
+
+	public static List<String> summary(int maxEntries) {
+		List<String> lines = new ArrayList<>();
+		lines.add("frames=" + frames + " over budget=" + framesOverBudget
+				+ " worst=" + (maxFrameNanos / 1000) + "us");
+
+		List<Map.Entry<String, Long>> mods = new ArrayList<>(getTotalNanosByMod().entrySet());
+		mods.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+		for (int i = 0; i < mods.size() && i < maxEntries; i++) {
+			lines.add(mods.get(i).getKey() + " total=" + (mods.get(i).getValue() / 1000) + "us");
+		}
+
+		List<Stat> all = getStats();
+		for (int i = 0; i < all.size() && i < maxEntries; i++) {
+			lines.add(all.get(i).toString());
+		}
+		return lines;
+	}
+
+	public static void dump() {
+		for (String line : summary(Integer.MAX_VALUE)) {
+			logger.info("profile: " + line);
+		}
+	}
+
+	// subscriberLabel - class name and identity hash, tells apart two
+	// subscribers of the same class without holding on to either
+	private static String subscriberLabel(Object sub) {
+		return sub.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(sub));
+	}
+
+	// getModName - the jar a subscriber class was loaded from
+	public static String getModName(Class<?> clazz) {
+		String name = modNames.get(clazz);
+		if (name == null) {
+			name = "unknown";
+			try {
+				CodeSource source = clazz.getProtectionDomain().getCodeSource();
+				if (source != null) {
+					URL location = source.getLocation();
+					String file = new File(location.toURI()).getName();
+					name = file.endsWith(".jar") ? file.substring(0, file.length() - 4) : file;
+				}
+			} catch (Exception e) {
+				logger.error("could not find jar for " + clazz.getName());
+			}
+			modNames.put(clazz, name);
+		}
+		return name;
+	}
+}
@@ -0,0 +1,106 @@
+package basemod;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+
+import basemod.abstracts.CustomCard;
+
+// LargePortraitCache - the _p portraits shown by SingleCardViewPopup
+//
+// keeps the most recently opened portraits loaded and disposes the oldest one
+// once more than maxSize are cached; paths without a _p file are remembered
+// so the file system is only probed once per card image
+public class LargePortraitCache {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	private static int maxSize = 8;
+
+	private static final LinkedHashMap<String, Texture> textures = new LinkedHashMap<>(16, 0.75f, true);
+	private static final HashSet<String> missing = new HashSet<>();
+
+	private LargePortraitCache() {}
+
+	public static int getMaxSize() {
+		return maxSize;
+	}
+
+	public static void setMaxSize(int size) {
+		maxSize = Math.max(1, size);
+		trim();
+	}
+
+	// getPortraitPath - the _p path for a card image path
+	public static String getPortraitPath(String img) {
+		int endingIndex = img.lastIndexOf(".");
+		if (endingIndex < 0) {
+			return img + CustomCard.PORTRAIT_ENDING;
+		}
+		return img.substring(0, endingIndex) + CustomCard.PORTRAIT_ENDING + img.substring(endingIndex);
+	}
+
+	// get - the large portrait for card, null if it has none
+	//
+	// the returned texture is owned by the cache and must not be disposed
+	public static Texture get(CustomCard card) {
+		if (card.textureImg == null) {
+			return null;
+		}
+		return getByPath(getPortraitPath(card.textureImg));
+	}
+
+	public static Texture getByPath(String path) {
+		Texture texture = textures.get(path);
+		if (texture != null || missing.contains(path)) {
+			return texture;
+		}
+
+		FileHandle file = Gdx.files.internal(path);
+		if (!file.exists()) {
+			missing.add(path);
+			return null;
+		}
+		try {
+			texture = new Texture(file);
+		} catch (Exception e) {
+			logger.error("could not load large portrait " + path);
+			missing.add(path);
+			return null;
+		}
+		textures.put(path, texture);
+		trim();
+		return texture;
+	}
+
+	// isCached - true if texture is owned by the cache
+	public static boolean isCached(Texture texture) {
+		return texture != null && textures.containsValue(texture);
+	}
+
+	// clear - disposes every cached portrait and forgets missing ones
+	public static void clear() {
+		for (Texture texture : textures.values()) {
+			texture.dispose();
+		}
+		textures.clear();
+		missing.clear();
+	}
+
+	private static void trim() {
+		Iterator<Map.Entry<String, Texture>> it = textures.entrySet().iterator();
+		while (textures.size() > maxSize && it.hasNext()) {
+			Texture oldest = it.next().getValue();
+			it.remove();
+			oldest.dispose();
+		}
+	}
+}
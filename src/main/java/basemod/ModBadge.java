@@ -48,7 +48,8 @@ public class ModBadge implements RenderSubscriber, PreUpdateSubscriber {
         
         logger.info("initialized mod badge for: " + modName);
         
-        BaseMod.subscribe(this);
+        // badges and their settings panels only exist on the main menu
+        BaseMod.subscribe(this, GameStateFilter.MAIN_MENU);
         
         logger.info("setup hooks for " + modName + " mod badge");
     }
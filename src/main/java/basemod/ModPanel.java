@@ -70,7 +70,14 @@ public class ModPanel {
     }
     
     public ModPanel(Consumer<ModPanel> createFunc) {
-        background = new Texture(Gdx.files.internal("img/ModPanelBg.png"));
+        if (background == null) {
+            background = AsyncTextureLoader.getPlaceholder();
+            AsyncTextureLoader.load("img/ModPanelBg.png", texture -> {
+                if (texture != null) {
+                    background = texture;
+                }
+            });
+        }
         
         uiElementsRender = new ArrayList<>();
         uiElementsUpdate = new ArrayList<>();
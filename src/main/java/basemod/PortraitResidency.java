@@ -0,0 +1,204 @@
+package basemod;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import basemod.abstracts.CustomCard;
+
+// PortraitResidency - optional lazy loading and eviction of CustomCard portraits
+//
+// when enabled a portrait is only loaded the first time a card using it is
+// rendered. every live card instance counts as a reference to its portrait
+// (tracked with weak references, so nothing has to be released by hand) and
+// once the loaded portraits take more than the memory cap the least recently
+// rendered ones are unloaded again, unreferenced ones first. an unloaded
+// portrait shows the loader placeholder until it is rendered and loaded again
+public class PortraitResidency {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	private static boolean enabled = false;
+	// a portrait that failed to load this many times stays on the placeholder
+	private static final int MAX_LOAD_ATTEMPTS = 2;
+	private static long memoryCapBytes = 256L * 1024L * 1024L;
+
+	private static final HashMap<String, Entry> entries = new HashMap<>();
+	private static final ReferenceQueue<CustomCard> collected = new ReferenceQueue<>();
+	private static final HashSet<CardReference> references = new HashSet<>();
+
+	private static long frame = 0;
+	private static long residentBytes = 0;
+
+	private static class Entry {
+		final String path;
+		final TextureAtlas.AtlasRegion region;
+		Texture texture = null;
+		boolean loading = false;
+		int failures = 0;
+		int refCount = 0;
+		long lastUsed = -1;
+
+		Entry(String path, TextureAtlas.AtlasRegion region) {
+			this.path = path;
+			this.region = region;
+		}
+
+		long bytes() {
+			return texture == null ? 0 : 4L * texture.getWidth() * texture.getHeight();
+		}
+	}
+
+	private static class CardReference extends WeakReference<CustomCard> {
+		final Entry entry;
+
+		CardReference(CustomCard card, Entry entry) {
+			super(card, collected);
+			this.entry = entry;
+		}
+	}
+
+	private PortraitResidency() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	// setEnabled - only affects cards created afterwards, portraits already
+	// managed keep being loaded on render and evicted under the cap
+	public static void setEnabled(boolean enabled) {
+		PortraitResidency.enabled = enabled;
+	}
+
+	public static long getMemoryCap() {
+		return memoryCapBytes;
+	}
+
+	public static void setMemoryCap(long bytes) {
+		memoryCapBytes = bytes;
+	}
+
+	public static long getResidentBytes() {
+		return residentBytes;
+	}
+
+	public static boolean isTracked(String path) {
+		return entries.containsKey(path);
+	}
+
+	// track - starts managing the shared portrait region for path
+	public static void track(String path, TextureAtlas.AtlasRegion region) {
+		if (!entries.containsKey(path)) {
+			entries.put(path, new Entry(path, region));
+		}
+	}
+
+	// addReference - card uses the portrait at path until it is collected
+	public static void addReference(CustomCard card, String path) {
+		Entry entry = entries.get(path);
+		if (entry != null) {
+			entry.refCount++;
+			references.add(new CardReference(card, entry));
+		}
+	}
+
+	// touch - called whenever a card using path is rendered
+	public static void touch(String path) {
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			return;
+		}
+		entry.lastUsed = frame;
+		if (entry.texture == null && !entry.loading && entry.failures < MAX_LOAD_ATTEMPTS) {
+			load(entry);
+		}
+	}
+
+	// forget - stops managing path and unloads it, e.g. once it was packed
+	public static void forget(String path) {
+		Entry entry = entries.remove(path);
+		if (entry != null && entry.texture != null) {
+			residentBytes -= entry.bytes();
+			entry.texture.dispose();
+			entry.texture = null;
+		}
+	}
+
+	// update - drops references of collected cards and enforces the memory
+	// cap, called by BaseMod once per frame
+	public static void update() {
+		frame++;
+
+		CardReference reference;
+		while ((reference = (CardReference) collected.poll()) != null) {
+			references.remove(reference);
+			reference.entry.refCount--;
+		}
+
+		if (residentBytes > memoryCapBytes) {
+			evict();
+		}
+	}
+
+	private static void load(Entry entry) {
+		entry.loading = true;
+		AsyncTextureLoader.load(entry.path, texture -> {
+			entry.loading = false;
+			if (texture == null) {
+				entry.failures++;
+				logger.error("could not load card portrait " + entry.path
+						+ (entry.failures < MAX_LOAD_ATTEMPTS ? ", retrying on next render" : ", giving up"));
+				return;
+			}
+			if (entries.get(entry.path) != entry) {
+				// forgotten while loading
+				texture.dispose();
+				return;
+			}
+			texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+			entry.texture = texture;
+			residentBytes += entry.bytes();
+			CustomCard.pointRegion(entry.region, new TextureRegion(texture));
+		});
+	}
+
+	private static void evict() {
+		ArrayList<Entry> candidates = new ArrayList<>();
+		for (Entry entry : entries.values()) {
+			// anything drawn during the last frame stays
+			if (entry.texture != null && entry.lastUsed < frame - 1) {
+				candidates.add(entry);
+			}
+		}
+		candidates.sort((a, b) -> {
+			if ((a.refCount > 0) != (b.refCount > 0)) {
+				return a.refCount > 0 ? 1 : -1;
+			}
+			return Long.compare(a.lastUsed, b.lastUsed);
+		});
+
+		int evicted = 0;
+		for (Entry entry : candidates) {
+			if (residentBytes <= memoryCapBytes) {
+				break;
+			}
+			residentBytes -= entry.bytes();
+			CustomCard.pointRegion(entry.region, new TextureRegion(AsyncTextureLoader.getPlaceholder()));
+			entry.texture.dispose();
+			entry.texture = null;
+			evicted++;
+		}
+		if (evicted > 0) {
+			logger.info("evicted " + evicted + " card portraits, " + (residentBytes / 1024) + "KB still resident");
+		}
+	}
+}
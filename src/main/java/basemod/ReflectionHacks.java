@@ -1,11 +1,10 @@
 package basemod;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+// ReflectionHacks - fields are resolved once through FieldAccessor and the
+// accessor is reused by every later call with the same class and name
 public class ReflectionHacks {
 	// use same logger as BaseMod
     public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
@@ -20,9 +19,7 @@ public class ReflectionHacks {
     @SuppressWarnings("rawtypes")
 	public static Object getPrivateStatic(Class objClass, String fieldName) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            return targetField.get(null);
+            return FieldAccessor.of(objClass, fieldName).get(null);
         } catch (Exception e) {
             logger.error("Exception occured when getting private static field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -40,14 +37,7 @@ public class ReflectionHacks {
     @SuppressWarnings("rawtypes")
 	public static void setPrivateStaticFinal(Class objClass, String fieldName, Object newValue) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            
-            Field modifiersField = Field.class.getDeclaredField("modifiers");
-            modifiersField.setAccessible(true);
-            modifiersField.setInt(targetField, targetField.getModifiers() & ~Modifier.FINAL);
-            
-            targetField.setAccessible(true);
-            targetField.set(null, newValue);
+            FieldAccessor.of(objClass, fieldName).setFinal(null, newValue);
         } catch (Exception e) {
             logger.error("Exception occured when setting private static (final) field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -57,9 +47,7 @@ public class ReflectionHacks {
     @SuppressWarnings("rawtypes")
 	public static Object getPrivate(Object obj, Class objClass, String fieldName) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            return targetField.get(obj);
+            return FieldAccessor.of(objClass, fieldName).get(obj);
         } catch (Exception e) {
             logger.error("Exception occured when getting private field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -71,9 +59,7 @@ public class ReflectionHacks {
     @SuppressWarnings("rawtypes")
 	public static void setPrivate(Object obj, Class objClass, String fieldName, Object newValue) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            targetField.set(obj, newValue);
+            FieldAccessor.of(objClass, fieldName).set(obj, newValue);
         } catch (Exception e) {
             logger.error("Exception occured when setting private field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -83,9 +69,7 @@ public class ReflectionHacks {
     @SuppressWarnings("rawtypes")
 	public static void setPrivateInherited(Object obj, Class objClass, String fieldName, Object newValue) {
     	try {
-    		Field targetField = objClass.getSuperclass().getDeclaredField(fieldName);
-    		targetField.setAccessible(true);
-    		targetField.set(obj, newValue);
+    		FieldAccessor.of(objClass.getSuperclass(), fieldName).set(obj, newValue);
     	} catch (Exception e) {
     		logger.error("Exception occured when setting private field " + fieldName + " of the superclass of " + objClass.getName(), e);
     	}
@@ -0,0 +1,196 @@
+package basemod;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import basemod.helpers.SuperclassFinder;
+
+// ReflectionProfiler - opt-in count of reflective lookups and accesses
+//
+// FieldAccessor, ReflectionHacks and SuperclassFinder record every call and
+// so do the render patches that still reflect directly; the call site is the
+// first stack frame outside those helpers, which is only worked out while
+// enabled. like HookProfiler, start() returns 0 while disabled
+public class ReflectionProfiler {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	public static final String CSV_FILE = "reflection_profile.csv";
+
+	public enum Kind {
+		LOOKUP, GET, SET, INVOKE
+	}
+
+	private static boolean enabled = false;
+
+	private static final HashMap<String, Stat> stats = new HashMap<>();
+
+	private static long frames = 0;
+	private static long frameCalls = 0;
+	private static long maxFrameCalls = 0;
+
+	public static class Stat {
+		public final String site;
+		public final Kind kind;
+		public long calls = 0;
+		public long totalNanos = 0;
+		public long maxNanos = 0;
+		public long maxCallsPerFrame = 0;
+		private long frameCalls = 0;
+		private long lastFrame = -1;
+
+		private Stat(String site, Kind kind) {
+			this.site = site;
+			this.kind = kind;
+		}
+
+		public double averageNanos() {
+			return calls == 0 ? 0 : (double) totalNanos / calls;
+		}
+
+		@Override
+		public String toString() {
+			return site + " " + kind
+					+ " calls=" + calls
+					+ " perFrame=" + maxCallsPerFrame
+					+ " total=" + (totalNanos / 1000) + "us"
+					+ " avg=" + (long) averageNanos() + "ns";
+		}
+	}
+
+	private ReflectionProfiler() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		logger.info("reflection profiler " + (enabled ? "enabled" : "disabled"));
+		ReflectionProfiler.enabled = enabled;
+		frameCalls = 0;
+	}
+
+	public static synchronized void reset() {
+		stats.clear();
+		frames = 0;
+		frameCalls = 0;
+		maxFrameCalls = 0;
+	}
+
+	// start - call right before the reflective call
+	public static long start() {
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	// record - call right after the reflective call with the result of start()
+	public static void record(Kind kind, long start) {
+		if (start == 0L) {
+			return;
+		}
+
+		long elapsed = System.nanoTime() - start;
+		record(findCallSite(), kind, elapsed);
+	}
+
+	private static synchronized void record(String site, Kind kind, long elapsed) {
+		String key = site + '#' + kind;
+		Stat stat = stats.get(key);
+		if (stat == null) {
+			stat = new Stat(site, kind);
+			stats.put(key, stat);
+		}
+		stat.calls++;
+		stat.totalNanos += elapsed;
+		if (elapsed > stat.maxNanos) {
+			stat.maxNanos = elapsed;
+		}
+		if (stat.lastFrame != frames) {
+			stat.lastFrame = frames;
+			stat.frameCalls = 0;
+		}
+		stat.frameCalls++;
+		if (stat.frameCalls > stat.maxCallsPerFrame) {
+			stat.maxCallsPerFrame = stat.frameCalls;
+		}
+		frameCalls++;
+	}
+
+	// endFrame - closes the per frame counts, called once per frame
+	public static synchronized void endFrame() {
+		if (!enabled) {
+			return;
+		}
+
+		frames++;
+		if (frameCalls > maxFrameCalls) {
+			maxFrameCalls = frameCalls;
+		}
+		frameCalls = 0;
+	}
+
+	// findCallSite - first frame that is not part of the reflection helpers
+	private static String findCallSite() {
+		for (StackTraceElement element : new Throwable().getStackTrace()) {
+			String className = element.getClassName();
+			if (!className.equals(ReflectionProfiler.class.getName())
+					&& !className.equals(FieldAccessor.class.getName())
+					&& !className.equals(ReflectionHacks.class.getName())
+					&& !className.equals(SuperclassFinder.class.getName())) {
+				String simpleName = className.substring(className.lastIndexOf('.') + 1).replace('$', '.');
+				return simpleName + "." + element.getMethodName();
+			}
+		}
+		return "unknown";
+	}
+
+	// getStats - every recorded call site, most total time first
+	public static synchronized List<Stat> getStats() {
+		List<Stat> result = new ArrayList<>(stats.values());
+		result.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+		return result;
+	}
+
+	public static List<String> summary(int maxEntries) {
+		List<String> lines = new ArrayList<>();
+		lines.add("frames=" + frames + " worst frame=" + maxFrameCalls + " calls");
+		List<Stat> all = getStats();
+		for (int i = 0; i < all.size() && i < maxEntries; i++) {
+			lines.add(all.get(i).toString());
+		}
+		return lines;
+	}
+
+	public static void dump() {
+		for (String line : summary(Integer.MAX_VALUE)) {
+			logger.info("reflection: " + line);
+		}
+	}
+
+	// dumpCsv - writes every call site to fileName, returns false on failure
+	public static boolean dumpCsv(String fileName) {
+		try (PrintWriter out = new PrintWriter(new FileWriter(fileName))) {
+			out.println("site,kind,calls,calls_per_frame,max_calls_per_frame,total_us,avg_ns,max_ns");
+			long frameCount = Math.max(frames, 1);
+			for (Stat stat : getStats()) {
+				out.println(stat.site + "," + stat.kind + "," + stat.calls
+						+ "," + String.format(Locale.ROOT, "%.2f", (double) stat.calls / frameCount)
+						+ "," + stat.maxCallsPerFrame
+						+ "," + (stat.totalNanos / 1000)
+						+ "," + (long) stat.averageNanos()
+						+ "," + stat.maxNanos);
+			}
+			return true;
+		} catch (IOException e) {
+			logger.error("could not write reflection profile to " + fileName, e);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package basemod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+// ScaledTextures - half and quarter size copies of card layer images
+//
+// cards in hand and in grid screens are drawn at a fraction of their 512px
+// art, find() hands out a smaller copy for those so less texture data is
+// sampled per card. copies are made on the texture loader's worker threads
+// the first time an image is drawn small, averaging 2x2 blocks per halving,
+// and stored in TextureDiskCache; until a copy is ready find() returns null
+// and callers draw the full size image as before
+public class ScaledTextures {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	// level 0 is the image itself, every level halves width and height
+	public static final int LEVELS = 3;
+
+	private static boolean enabled = true;
+
+	private static final HashMap<String, TextureRegion[]> variants = new HashMap<>();
+
+	private ScaledTextures() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		ScaledTextures.enabled = enabled;
+	}
+
+	// levelFor - the smallest level that still has a texel per screen pixel
+	// when the full image is drawn at drawnScale
+	public static int levelFor(float drawnScale) {
+		int level = 0;
+		while (level < LEVELS - 1 && drawnScale <= 1.0F / (2 << level)) {
+			level++;
+		}
+		return level;
+	}
+
+	// find - a smaller copy of the image at path for drawing it at drawnScale
+	// of its size, null if the image itself should be drawn
+	public static TextureRegion find(String path, float drawnScale) {
+		if (!enabled || path == null) {
+			return null;
+		}
+		int level = levelFor(drawnScale);
+		if (level == 0) {
+			return null;
+		}
+		TextureRegion[] levels = variants.get(path);
+		if (levels == null) {
+			levels = request(path);
+		}
+		// fall back to a larger copy while the right one is being made
+		for (int i = level; i > 0; i--) {
+			if (levels[i] != null) {
+				return levels[i];
+			}
+		}
+		return null;
+	}
+
+	// dispose - frees every copy made so far
+	public static void dispose() {
+		for (TextureRegion[] levels : variants.values()) {
+			for (TextureRegion region : levels) {
+				if (region != null) {
+					region.getTexture().dispose();
+				}
+			}
+		}
+		variants.clear();
+	}
+
+	private static TextureRegion[] request(String path) {
+		TextureRegion[] levels = new TextureRegion[LEVELS];
+		variants.put(path, levels);
+		for (int level = 1; level < LEVELS; level++) {
+			int target = level;
+			AsyncTextureLoader.loadGenerated(path + "#scaled" + level, () -> generate(path, target), texture -> {
+				if (texture == null) {
+					return;
+				}
+				if (variants.get(path) != levels) {
+					texture.dispose();
+					return;
+				}
+				texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+				levels[target] = new TextureRegion(texture);
+			});
+		}
+		return levels;
+	}
+
+	// generate - runs on a worker thread
+	private static Pixmap generate(String path, int level) {
+		String group = "scaled" + new TextureDiskCache.Key().add(path).build().substring(0, 16) + "x" + level;
+		String key = null;
+		try {
+			key = new TextureDiskCache.Key().addFile(path).add(level).build();
+			Pixmap cached = TextureDiskCache.loadPixmap(group, key, "raw");
+			if (cached != null) {
+				return cached;
+			}
+		} catch (IOException e) {
+			logger.warn("could not hash " + path + ", not caching its scaled copies");
+		}
+
+		Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+		if (pixmap.getFormat() != Pixmap.Format.RGBA8888) {
+			Pixmap converted = toRGBA8888(pixmap);
+			pixmap.dispose();
+			pixmap = converted;
+		}
+		for (int i = 0; i < level; i++) {
+			Pixmap half = halve(pixmap);
+			pixmap.dispose();
+			pixmap = half;
+		}
+		if (key != null) {
+			TextureDiskCache.savePixmap(group, key, "raw", pixmap);
+		}
+		return pixmap;
+	}
+
+	// toRGBA8888 - copies pixel by pixel, drawPixmap would blend
+	private static Pixmap toRGBA8888(Pixmap source) {
+		Pixmap result = new Pixmap(source.getWidth(), source.getHeight(), Pixmap.Format.RGBA8888);
+		ByteBuffer out = result.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN);
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				out.putInt((y * source.getWidth() + x) * 4, source.getPixel(x, y));
+			}
+		}
+		return result;
+	}
+
+	// halve - averages every 2x2 block, weighting color by alpha so
+	// transparent pixels do not darken the edges
+	private static Pixmap halve(Pixmap source) {
+		int width = Math.max(1, source.getWidth() / 2);
+		int height = Math.max(1, source.getHeight() / 2);
+		Pixmap result = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+		ByteBuffer in = source.getPixels();
+		ByteBuffer out = result.getPixels();
+		int sourceWidth = source.getWidth();
+		int sourceHeight = source.getHeight();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int r = 0, g = 0, b = 0, a = 0;
+				for (int dy = 0; dy < 2; dy++) {
+					int sy = Math.min(2 * y + dy, sourceHeight - 1);
+					for (int dx = 0; dx < 2; dx++) {
+						int sx = Math.min(2 * x + dx, sourceWidth - 1);
+						int i = (sy * sourceWidth + sx) * 4;
+						int pa = in.get(i + 3) & 0xFF;
+						r += (in.get(i) & 0xFF) * pa;
+						g += (in.get(i + 1) & 0xFF) * pa;
+						b += (in.get(i + 2) & 0xFF) * pa;
+						a += pa;
+					}
+				}
+				int o = (y * width + x) * 4;
+				if (a > 0) {
+					out.put(o, (byte) (r / a));
+					out.put(o + 1, (byte) (g / a));
+					out.put(o + 2, (byte) (b / a));
+				}
+				out.put(o + 3, (byte) ((a + 2) / 4));
+			}
+		}
+		return result;
+	}
+}
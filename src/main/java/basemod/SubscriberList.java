@@ -0,0 +1,187 @@
+package basemod;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.badlogic.gdx.utils.IntMap;
+
+import basemod.interfaces.ISubscriber;
+
+// SubscriberList - the subscribers of a single hook type
+//
+// backed by a copy-on-write array so publishers can iterate getSubscribers()
+// directly without allocating an iterator every frame; subscribing or
+// unsubscribing replaces the array, so doing either from inside a publish
+// is safe and only affects the next publish
+//
+// subscribers added with a GameStateFilter are only part of the snapshot
+// while the game is in a matching state; the snapshot for each state is
+// built once and reused until the list changes
+public class SubscriberList<T extends ISubscriber> {
+	private final Class<T> type;
+	private T[] subscribers;
+	private GameStateFilter[] filters = new GameStateFilter[0];
+	private int filteredCount = 0;
+	private IntMap<T[]> activeByState = new IntMap<>();
+	private ArrayList<Subscription> oneShots = new ArrayList<>();
+
+	@SuppressWarnings("unchecked")
+	public SubscriberList(Class<T> type) {
+		this.type = type;
+		this.subscribers = (T[]) Array.newInstance(type, 0);
+	}
+
+	public Class<T> getType() {
+		return type;
+	}
+
+	// getSubscribers - the current snapshot to publish to, must not be modified
+	// one-shot subscribers are still in the returned snapshot but are taken
+	// out of every later one; those filtered out of this snapshot stay queued
+	// until a snapshot includes them
+	public T[] getSubscribers() {
+		T[] snapshot = filteredCount == 0 ? subscribers : getActive(GameStateFilter.current());
+		if (!oneShots.isEmpty()) {
+			expireOneShots(snapshot);
+		}
+		return snapshot;
+	}
+
+	private T[] getActive(int state) {
+		T[] active = activeByState.get(state);
+		if (active == null) {
+			active = Arrays.copyOf(subscribers, subscribers.length);
+			int size = 0;
+			for (int i = 0; i < subscribers.length; i++) {
+				if (filters[i] == null || filters[i].matches(state)) {
+					active[size++] = subscribers[i];
+				}
+			}
+			active = Arrays.copyOf(active, size);
+			activeByState.put(state, active);
+		}
+		return active;
+	}
+
+	void addOneShot(Subscription subscription) {
+		oneShots.add(subscription);
+	}
+
+	// expireOneShots - drops delivered one-shots from this list right away,
+	// their other lists are left to the end of the frame
+	private void expireOneShots(T[] snapshot) {
+		for (int i = oneShots.size() - 1; i >= 0; i--) {
+			Subscription subscription = oneShots.get(i);
+			if (contains(snapshot, subscription.getSubscriber())) {
+				oneShots.remove(i);
+				subscription.expire(this);
+				remove(subscription.getSubscriber());
+			}
+		}
+	}
+
+	private static boolean contains(Object[] snapshot, Object sub) {
+		for (Object o : snapshot) {
+			if (o == sub) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int size() {
+		return subscribers.length;
+	}
+
+	public boolean isEmpty() {
+		return subscribers.length == 0;
+	}
+
+	public void add(T sub) {
+		add(sub, null);
+	}
+
+	// add - filter may be null to receive the hook in every state
+	public void add(T sub, GameStateFilter filter) {
+		T[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length + 1);
+		newSubscribers[subscribers.length] = sub;
+		GameStateFilter[] newFilters = Arrays.copyOf(filters, filters.length + 1);
+		newFilters[filters.length] = filter;
+		setSubscribers(newSubscribers, newFilters);
+	}
+
+	// addUnchecked - for callers that only know sub is an ISubscriber
+	public void addUnchecked(ISubscriber sub) {
+		add(type.cast(sub), null);
+	}
+
+	public void addUnchecked(ISubscriber sub, GameStateFilter filter) {
+		add(type.cast(sub), filter);
+	}
+
+	private void setSubscribers(T[] newSubscribers, GameStateFilter[] newFilters) {
+		subscribers = newSubscribers;
+		filters = newFilters;
+		filteredCount = 0;
+		for (GameStateFilter filter : newFilters) {
+			if (filter != null) {
+				filteredCount++;
+			}
+		}
+		activeByState.clear();
+	}
+
+	public boolean remove(Object sub) {
+		int index = indexOf(sub);
+		if (index < 0) {
+			return false;
+		}
+
+		T[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length - 1);
+		System.arraycopy(subscribers, index + 1, newSubscribers, index, subscribers.length - index - 1);
+		GameStateFilter[] newFilters = Arrays.copyOf(filters, filters.length - 1);
+		System.arraycopy(filters, index + 1, newFilters, index, filters.length - index - 1);
+		setSubscribers(newSubscribers, newFilters);
+		return true;
+	}
+
+	// removeAll - drops every subscriber contained in subs with a single copy
+	public void removeAll(Set<?> subs) {
+		T[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length);
+		GameStateFilter[] newFilters = Arrays.copyOf(filters, filters.length);
+		int size = 0;
+		for (int i = 0; i < subscribers.length; i++) {
+			if (!subs.contains(subscribers[i])) {
+				newSubscribers[size] = subscribers[i];
+				newFilters[size] = filters[i];
+				size++;
+			}
+		}
+		if (size != subscribers.length) {
+			setSubscribers(Arrays.copyOf(newSubscribers, size), Arrays.copyOf(newFilters, size));
+		}
+		if (!oneShots.isEmpty()) {
+			oneShots.removeIf(subscription -> subs.contains(subscription.getSubscriber()));
+		}
+	}
+
+	public boolean contains(Object sub) {
+		return indexOf(sub) >= 0;
+	}
+
+	public void clear() {
+		setSubscribers(Arrays.copyOf(subscribers, 0), new GameStateFilter[0]);
+		oneShots.clear();
+	}
+
+	private int indexOf(Object sub) {
+		for (int i = 0; i < subscribers.length; i++) {
+			if (subscribers[i].equals(sub)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,72 @@
+package basemod;
+
+import basemod.interfaces.ISubscriber;
+
+// Subscription - handle returned by the scoped BaseMod.subscribe overloads
+//
+// cancel() only queues the subscriber for removal, it is dropped from its
+// lists together with every other pending removal at the end of the frame
+public class Subscription {
+	public enum Scope {
+		// stays until cancelled
+		PERMANENT,
+		// cancelled right after the first publish that reaches it
+		ONE_SHOT,
+		// cancelled when the current combat ends
+		COMBAT,
+		// cancelled when the current act ends
+		ACT,
+		// cancelled when the current run ends
+		RUN
+	}
+
+	private final ISubscriber subscriber;
+	private final SubscriberList<?>[] lists;
+	private final Scope scope;
+	private boolean cancelled = false;
+
+	Subscription(ISubscriber subscriber, SubscriberList<?>[] lists, Scope scope) {
+		this.subscriber = subscriber;
+		this.lists = lists;
+		this.scope = scope;
+	}
+
+	public ISubscriber getSubscriber() {
+		return subscriber;
+	}
+
+	public Scope getScope() {
+		return scope;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void cancel() {
+		if (cancelled) {
+			return;
+		}
+		cancelled = true;
+		BaseMod.unsubscribeLater(subscriber, lists);
+	}
+
+	// expire - cancels a delivered one-shot; from removes the subscriber
+	// itself, only the other lists are queued
+	void expire(SubscriberList<?> from) {
+		if (cancelled) {
+			return;
+		}
+		cancelled = true;
+		if (lists.length > 1) {
+			SubscriberList<?>[] others = new SubscriberList<?>[lists.length - 1];
+			int size = 0;
+			for (SubscriberList<?> list : lists) {
+				if (list != from && size < others.length) {
+					others[size++] = list;
+				}
+			}
+			BaseMod.unsubscribeLater(subscriber, others);
+		}
+	}
+}
@@ -0,0 +1,247 @@
+package basemod;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+
+// TextureDiskCache - content addressed cache of decoded or generated images
+//
+// entries are named <group>-<key>.<suffix> where key is a hash of everything
+// the image was built from (see Key), so a changed source image or packing
+// parameter simply results in a miss. pixels are stored raw as RGBA8888 with
+// a small header and are read straight into the pixmap, which skips the PNG
+// decoding that dominates startup for large mod packs. storing a new key for
+// a group deletes the entries of that group stored under older keys
+public class TextureDiskCache {
+	// use same logger as BaseMod
+	public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	// bump whenever the stored format changes
+	private static final int FORMAT_VERSION = 1;
+	private static final int MAGIC = 0x42544331;
+	private static final int HEADER_SIZE = 12;
+
+	public static String directory = "basemod_cache" + File.separator;
+
+	private static boolean enabled = true;
+
+	private TextureDiskCache() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		TextureDiskCache.enabled = enabled;
+	}
+
+	// Key - builds the hash an entry is addressed by
+	public static class Key {
+		private final MessageDigest digest;
+
+		public Key() {
+			try {
+				digest = MessageDigest.getInstance("SHA-1");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+			add(FORMAT_VERSION);
+		}
+
+		public Key add(String value) {
+			digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			return this;
+		}
+
+		public Key add(int value) {
+			return add(Integer.toString(value));
+		}
+
+		// addFile - hashes the contents of an internal file, not just its name
+		public Key addFile(String path) throws IOException {
+			add(path);
+			FileHandle file = Gdx.files.internal(path);
+			byte[] buffer = new byte[64 * 1024];
+			try (InputStream in = file.read()) {
+				int read;
+				while ((read = in.read(buffer)) > 0) {
+					digest.update(buffer, 0, read);
+				}
+			}
+			digest.update((byte) 0);
+			return this;
+		}
+
+		public Key addFiles(Collection<String> paths) throws IOException {
+			for (String path : paths) {
+				addFile(path);
+			}
+			return this;
+		}
+
+		public String build() {
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest()) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		}
+	}
+
+	private static File file(String group, String key, String suffix) {
+		return new File(directory, group + "-" + key + "." + suffix);
+	}
+
+	public static boolean has(String group, String key, String suffix) {
+		return enabled && file(group, key, suffix).isFile();
+	}
+
+	// loadPixmap - null on a miss, the caller owns the returned pixmap
+	public static Pixmap loadPixmap(String group, String key, String suffix) {
+		if (!enabled) {
+			return null;
+		}
+		File file = file(group, key, suffix);
+		if (!file.isFile()) {
+			return null;
+		}
+		Pixmap pixmap = null;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+			readFully(channel, header);
+			header.flip();
+			if (header.getInt() != MAGIC) {
+				throw new IOException("bad header");
+			}
+			int width = header.getInt();
+			int height = header.getInt();
+			if (width <= 0 || height <= 0 || channel.size() != HEADER_SIZE + (long) width * height * 4) {
+				throw new IOException("truncated");
+			}
+			pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+			ByteBuffer pixels = pixmap.getPixels();
+			pixels.position(0);
+			readFully(channel, pixels);
+			pixels.position(0);
+			return pixmap;
+		} catch (IOException | RuntimeException e) {
+			if (pixmap != null) {
+				pixmap.dispose();
+			}
+			logger.warn("dropping unreadable cache entry " + file.getName() + ": " + e.getMessage());
+			file.delete();
+			return null;
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new IOException("truncated");
+			}
+		}
+	}
+
+	// savePixmap - pixmap has to be RGBA8888
+	public static void savePixmap(String group, String key, String suffix, Pixmap pixmap) {
+		if (!enabled) {
+			return;
+		}
+		if (pixmap.getFormat() != Pixmap.Format.RGBA8888) {
+			throw new IllegalArgumentException("only RGBA8888 pixmaps can be cached");
+		}
+		File file = prepare(group, key, suffix);
+		if (file == null) {
+			return;
+		}
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+		header.putInt(MAGIC).putInt(pixmap.getWidth()).putInt(pixmap.getHeight());
+		header.flip();
+		ByteBuffer pixels = pixmap.getPixels().duplicate();
+		pixels.position(0);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+			channel.truncate(0);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			while (pixels.hasRemaining()) {
+				channel.write(pixels);
+			}
+		} catch (IOException e) {
+			logger.warn("could not write cache entry " + file.getName() + ": " + e.getMessage());
+			file.delete();
+		}
+	}
+
+	// loadLines - null on a miss
+	public static List<String> loadLines(String group, String key, String suffix) {
+		if (!enabled) {
+			return null;
+		}
+		File file = file(group, key, suffix);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			logger.warn("could not read cache entry " + file.getName() + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	public static void saveLines(String group, String key, String suffix, List<String> lines) {
+		if (!enabled) {
+			return;
+		}
+		File file = prepare(group, key, suffix);
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			logger.warn("could not write cache entry " + file.getName() + ": " + e.getMessage());
+			file.delete();
+		}
+	}
+
+	// prepare - creates the cache directory and drops older keys of group
+	private static File prepare(String group, String key, String suffix) {
+		File dir = new File(directory);
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			logger.warn("could not create texture cache directory " + dir.getAbsolutePath());
+			return null;
+		}
+		String prefix = group + "-";
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File old : files) {
+				String name = old.getName();
+				if (name.startsWith(prefix) && !name.startsWith(prefix + key + ".")) {
+					old.delete();
+				}
+			}
+		}
+		return file(group, key, suffix);
+	}
+}
@@ -1,42 +1,42 @@
 package basemod.abstracts;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import basemod.helpers.TooltipInfo;
+import basemod.helpers.TooltipLayout;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.monsters.AbstractMonster;
 
-import basemod.BaseMod;
-import basemod.ReflectionHacks;
+import basemod.AsyncTextureLoader;
+import basemod.ColorProfile;
+import basemod.ColorTextures;
+import basemod.CustomCardAtlas;
+import basemod.LargePortraitCache;
+import basemod.PortraitResidency;
+import basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard.AbstractCardAccessors;
 
 public abstract class CustomCard extends AbstractCard {
 	
 	public static HashMap<String, Texture> imgMap;
+	private static HashMap<String, TextureAtlas.AtlasRegion> portraitRegions = new HashMap<>();
 	
 	public static final String PORTRAIT_ENDING = "_p";
 	
+	// getPortraitImage - the _p portrait for card, owned by LargePortraitCache
 	public static Texture getPortraitImage(CustomCard card) {
-		if (card.textureImg == null) {
-			return null;
-		}
-		int endingIndex = card.textureImg.lastIndexOf(".");
-		String newPath = card.textureImg.substring(0, endingIndex) + 
-				PORTRAIT_ENDING + card.textureImg.substring(endingIndex); 
-		System.out.println("Finding texture: " + newPath);
-		Texture portraitTexture;
-		try {
-			portraitTexture = new Texture(newPath);
-		} catch (Exception e) {
-			portraitTexture = null;
-		}
-		return portraitTexture;
+		return LargePortraitCache.get(card);
 	}
 	
 	private static void loadTextureFromString(String textureString) {
@@ -45,6 +45,24 @@ public abstract class CustomCard extends AbstractCard {
 		}
 	}
 	
+	// prefetchTexture - starts loading textureString in the background, a
+	// getTextureFromString before it is done loads it right away instead
+	private static void prefetchTexture(String textureString) {
+		if (imgMap.containsKey(textureString)) {
+			return;
+		}
+		AsyncTextureLoader.load(textureString, texture -> {
+			if (texture == null) {
+				return;
+			}
+			if (imgMap.containsKey(textureString)) {
+				texture.dispose();
+			} else {
+				imgMap.put(textureString, texture);
+			}
+		});
+	}
+	
 	private static Texture getTextureFromString(String textureString) {
 		loadTextureFromString(textureString);
 		return imgMap.get(textureString);
@@ -53,6 +71,82 @@ public abstract class CustomCard extends AbstractCard {
 	static {
 		imgMap = new HashMap<>();
 	}
+	
+	// getPortraitRegion - the portrait region shared by every card using img
+	public static TextureAtlas.AtlasRegion getPortraitRegion(String img) {
+		TextureAtlas.AtlasRegion region = portraitRegions.get(img);
+		if (region == null) {
+			TextureAtlas.AtlasRegion packed = CustomCardAtlas.findRegion(img);
+			if (packed != null) {
+				region = new AtlasRegion(packed);
+			} else if (imgMap.containsKey(img)) {
+				Texture cardTexture = imgMap.get(img);
+				cardTexture.setFilter(Texture.TextureFilter.Linear,  Texture.TextureFilter.Linear);
+				region = new AtlasRegion(cardTexture, 0, 0, cardTexture.getWidth(), cardTexture.getHeight());
+			} else if (!Gdx.files.internal(img).exists()) {
+				// fail right away like loading the texture here used to, not on a loader thread
+				throw new GdxRuntimeException("Couldn't load file: " + img);
+			} else if (PortraitResidency.isEnabled()) {
+				// loaded on first render and may be unloaded again later
+				region = new AtlasRegion(AsyncTextureLoader.getPlaceholder(), 0, 0, 1, 1);
+				PortraitResidency.track(img, region);
+			} else {
+				// shows nothing until the texture is uploaded
+				region = new AtlasRegion(AsyncTextureLoader.getPlaceholder(), 0, 0, 1, 1);
+				TextureAtlas.AtlasRegion target = region;
+				AsyncTextureLoader.load(img, cardTexture -> {
+					if (cardTexture == null) {
+						return;
+					}
+					if (imgMap.containsKey(img) || CustomCardAtlas.findRegion(img) != null) {
+						// loaded some other way in the meantime
+						cardTexture.dispose();
+						return;
+					}
+					imgMap.put(img, cardTexture);
+					cardTexture.setFilter(Texture.TextureFilter.Linear,  Texture.TextureFilter.Linear);
+					pointRegion(target, new TextureRegion(cardTexture));
+				});
+			}
+			portraitRegions.put(img, region);
+		}
+		return region;
+	}
+	
+	// pointRegion - makes a shared portrait region show source instead
+	public static void pointRegion(TextureAtlas.AtlasRegion region, TextureRegion source) {
+		region.setRegion(source);
+		setRegionSize(region, source.getRegionWidth(), source.getRegionHeight());
+	}
+	
+	private static void setRegionSize(TextureAtlas.AtlasRegion region, int width, int height) {
+		region.packedWidth = width;
+		region.packedHeight = height;
+		region.originalWidth = width;
+		region.originalHeight = height;
+		region.offsetX = 0;
+		region.offsetY = 0;
+	}
+	
+	public static Set<String> getPortraitPaths() {
+		return new HashSet<>(portraitRegions.keySet());
+	}
+	
+	// movePortrait - points the shared portrait region for img at packed and
+	// disposes the standalone texture it used before
+	public static void movePortrait(String img, TextureAtlas.AtlasRegion packed) {
+		TextureAtlas.AtlasRegion region = portraitRegions.get(img);
+		if (region == null) {
+			return;
+		}
+		PortraitResidency.forget(img);
+		region.setRegion(packed);
+		setRegionSize(region, packed.packedWidth, packed.packedHeight);
+		Texture standalone = imgMap.remove(img);
+		if (standalone != null) {
+			standalone.dispose();
+		}
+	}
 
 	
 	public String textureImg;
@@ -63,6 +157,8 @@ public abstract class CustomCard extends AbstractCard {
 	public String textureBannerSmallImg = null;
 	public String textureBannerLargeImg = null;
 
+	private TooltipLayout tooltipLayout = null;
+
 	@Deprecated
 	public CustomCard(String id, String name, String img, int cost, String rawDescription, CardType type, CardColor color, CardRarity rarity, CardTarget target, int cardPool) {
 		this(id, name, img, cost, rawDescription, type, color, rarity, target);
@@ -83,7 +179,7 @@ public abstract class CustomCard extends AbstractCard {
 	
 	public Texture getOrbSmallTexture() {
 		if (textureOrbSmallImg == null) {
-			return BaseMod.getEnergyOrbTexture(this.color.toString());
+			return colorTexture(ColorTextures.Kind.ENERGY_ORB);
 		}
 		
 		return getTextureFromString(textureOrbSmallImg);
@@ -91,18 +187,30 @@ public abstract class CustomCard extends AbstractCard {
 	
 	public Texture getOrbLargeTexture() {
 		if (textureOrbLargeImg == null) {
-			return BaseMod.getEnergyOrbPortraitTexture(this.color.toString());
+			return colorTexture(ColorTextures.Kind.ENERGY_ORB_PORTRAIT);
 		}
 		
 		return getTextureFromString(textureOrbLargeImg);
 	}
 	
+	// colorTexture - the texture of kind registered for this card's color, null
+	// while it is still loading
+	private Texture colorTexture(ColorTextures.Kind kind) {
+		ColorProfile profile = ColorProfile.get(this.color);
+		return profile == null ? null : profile.getTexture(kind);
+	}
+	
+	// getOrbSmallRegion - null unless the small orb was packed by CustomCardAtlas
+	public TextureAtlas.AtlasRegion getOrbSmallRegion() {
+		return CustomCardAtlas.findRegion(textureOrbSmallImg);
+	}
+	
 	public void setOrbTexture(String orbSmallImg, String orbLargeImg) {
 		this.textureOrbSmallImg = orbSmallImg;
 		this.textureOrbLargeImg = orbLargeImg;
 		
-		loadTextureFromString(orbSmallImg);
-		loadTextureFromString(orbLargeImg);
+		prefetchTexture(orbSmallImg);
+		prefetchTexture(orbLargeImg);
 	}
 	
 	//
@@ -113,11 +221,11 @@ public abstract class CustomCard extends AbstractCard {
 		if (textureBackgroundSmallImg == null) {
 			switch (this.type) {
 			case ATTACK:
-				return BaseMod.getAttackBgTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.ATTACK_BG);
 			case POWER:
-				return BaseMod.getPowerBgTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.POWER_BG);
 			default:
-				return BaseMod.getSkillBgTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.SKILL_BG);
 			}
 		}
 		
@@ -128,23 +236,28 @@ public abstract class CustomCard extends AbstractCard {
 		if (textureBackgroundLargeImg == null) {
 			switch (this.type) {
 			case ATTACK:
-				return BaseMod.getAttackBgPortraitTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.ATTACK_BG_PORTRAIT);
 			case POWER:
-				return BaseMod.getPowerBgPortraitTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.POWER_BG_PORTRAIT);
 			default:
-				return BaseMod.getSkillBgPortraitTexture(this.color.toString());
+				return colorTexture(ColorTextures.Kind.SKILL_BG_PORTRAIT);
 			}
 		}
 		
 		return getTextureFromString(textureBackgroundLargeImg);
 	}
 	
+	// getBackgroundSmallRegion - null unless the small background was packed by CustomCardAtlas
+	public TextureAtlas.AtlasRegion getBackgroundSmallRegion() {
+		return CustomCardAtlas.findRegion(textureBackgroundSmallImg);
+	}
+	
 	public void setBackgroundTexture(String backgroundSmallImg, String backgroundLargeImg) {
 		this.textureBackgroundSmallImg = backgroundSmallImg;
 		this.textureBackgroundLargeImg = backgroundLargeImg;
 		
-		loadTextureFromString(backgroundSmallImg);
-		loadTextureFromString(backgroundLargeImg);
+		prefetchTexture(backgroundSmallImg);
+		prefetchTexture(backgroundLargeImg);
 	}
 	
 	//
@@ -167,12 +280,17 @@ public abstract class CustomCard extends AbstractCard {
 		return getTextureFromString(textureBannerLargeImg);
 	}
 	
+	// getBannerSmallRegion - null unless the small banner was packed by CustomCardAtlas
+	public TextureAtlas.AtlasRegion getBannerSmallRegion() {
+		return CustomCardAtlas.findRegion(textureBannerSmallImg);
+	}
+	
 	public void setBannerTexture(String bannerSmallImg, String bannerLargeImg) {
 		this.textureBannerSmallImg = bannerSmallImg;
 		this.textureBannerLargeImg = bannerLargeImg;
 		
-		loadTextureFromString(bannerSmallImg);
-		loadTextureFromString(bannerLargeImg);
+		prefetchTexture(bannerSmallImg);
+		prefetchTexture(bannerLargeImg);
 	}
 	
 	/**
@@ -199,22 +317,38 @@ public abstract class CustomCard extends AbstractCard {
 	
 	// loadCardImage - copy of hack here: https://github.com/t-larson/STS-ModLoader/blob/master/modloader/CustomCard.java
 	public void loadCardImage(String img) {
-		Texture cardTexture;
-		if (imgMap.containsKey(img)) {
-			cardTexture = imgMap.get(img);
-		} else {
-			cardTexture = new Texture(img);
-			imgMap.put(img, cardTexture);
+		TextureAtlas.AtlasRegion cardImg;
+		try {
+			cardImg = getPortraitRegion(img);
+		} catch (GdxRuntimeException e) {
+			throw new GdxRuntimeException("Couldn't load image for card " + cardID + ": " + img, e);
 		}
-		cardTexture.setFilter(Texture.TextureFilter.Linear,  Texture.TextureFilter.Linear);
-		int tw = cardTexture.getWidth();
-		int th = cardTexture.getHeight();
-		TextureAtlas.AtlasRegion cardImg = new AtlasRegion(cardTexture, 0, 0, tw, th);
-		ReflectionHacks.setPrivateInherited(this, CustomCard.class, "portrait", cardImg);
+		PortraitResidency.addReference(this, img);
+		((AbstractCardAccessors.Access) this).basemod_setPortrait(cardImg);
 	}
 
 	public List<TooltipInfo> getCustomTooltips()
 	{
 		return null;
 	}
+
+	// getCustomTooltipLayout - getCustomTooltips() with the measured height of
+	// each tooltip, only rebuilt when the description, the upgrade state, the
+	// tooltip font or a tooltip's description string changes so hovering the
+	// card doesn't call getCustomTooltips() every frame. Adding, removing or
+	// retitling tooltips needs invalidateCustomTooltips()
+	public TooltipLayout getCustomTooltipLayout(BitmapFont font, float width, float spacing)
+	{
+		if (tooltipLayout == null || !tooltipLayout.matches(this, font, width, spacing)) {
+			tooltipLayout = new TooltipLayout(this, getCustomTooltips(), font, width, spacing);
+		}
+		return tooltipLayout;
+	}
+
+	// invalidateCustomTooltips - call when getCustomTooltips() would return
+	// something else for a reason getCustomTooltipLayout can't see
+	public void invalidateCustomTooltips()
+	{
+		tooltipLayout = null;
+	}
 }
@@ -1,14 +1,18 @@
 package basemod.abstracts;
 
+import basemod.AsyncTextureLoader;
 import basemod.BaseMod;
 import basemod.animations.AbstractAnimation;
 import basemod.animations.G3DJAnimation;
 import basemod.interfaces.ModelRenderSubscriber;
+import basemod.patches.com.megacrit.cardcrawl.ui.panels.EnergyPanel.EnergyPanelAccessors;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g3d.Environment;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
@@ -17,17 +21,43 @@ import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.helpers.ImageMaster;
 import com.megacrit.cardcrawl.ui.panels.EnergyPanel;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public abstract class CustomPlayer extends AbstractPlayer implements ModelRenderSubscriber {
 	
+	// use same logger as BaseMod
+	private static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
+
+	// layer count of the default orb, custom orbs may have any number
 	public static final int LAYER_COUNT = 5;
 	public static final float DEFAULT_ANGLE = 0.0f;
+	// gap between packed orb layers so filtering never samples a neighbour
+	private static final int ORB_PADDING = 2;
+
+	// layer rects of every packed orb by loader key, shared by all players
+	// using the same orb art since the loader only runs one generator per key
+	private static final ConcurrentHashMap<String, int[][]> orbLayouts = new ConcurrentHashMap<>();
+
+	// PackedOrb - the packed page and where each layer ended up on it
+	private static class PackedOrb {
+		final Pixmap page;
+		final int[][] rects;
+
+		PackedOrb(Pixmap page, int[][] rects) {
+			this.page = page;
+			this.rects = rects;
+		}
+	}
 
 	AbstractAnimation animation;
 	
-	private ArrayList<Texture> energyLayers = new ArrayList<Texture>();
+	// layerCount rotating layers, the static base layer, then layerCount
+	// rotating layers for the disabled orb
+	private TextureRegion[] energyLayers;
+	private int layerCount;
 	private float[] energyLayerSpeeds = null;
 	private float[] angles = null;
 	private Texture orbVfx;
@@ -74,7 +104,7 @@ public abstract class CustomPlayer extends AbstractPlayer implements ModelRender
 	}
 	
 	private void initAngles() {
-		angles = new float[LAYER_COUNT];
+		angles = new float[layerCount];
 		for (int i = 0; i < angles.length; i++) {
 			angles[i] = DEFAULT_ANGLE;
 		}
@@ -111,168 +141,131 @@ public abstract class CustomPlayer extends AbstractPlayer implements ModelRender
 	public static final String DEFAULT_ORB_VFX = "images/ui/topPanel/energyRedVFX.png";
 	
 	private void buildDefaultOrb() {
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER1);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER2);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER3);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER4);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER5);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER6);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER1D);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER2D);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER3D);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER4D);
-		energyLayers.add(ImageMaster.ENERGY_RED_LAYER5D);
+		Texture[] textures = {
+			ImageMaster.ENERGY_RED_LAYER1,
+			ImageMaster.ENERGY_RED_LAYER2,
+			ImageMaster.ENERGY_RED_LAYER3,
+			ImageMaster.ENERGY_RED_LAYER4,
+			ImageMaster.ENERGY_RED_LAYER5,
+			ImageMaster.ENERGY_RED_LAYER6,
+			ImageMaster.ENERGY_RED_LAYER1D,
+			ImageMaster.ENERGY_RED_LAYER2D,
+			ImageMaster.ENERGY_RED_LAYER3D,
+			ImageMaster.ENERGY_RED_LAYER4D,
+			ImageMaster.ENERGY_RED_LAYER5D
+		};
+		layerCount = LAYER_COUNT;
+		energyLayers = new TextureRegion[textures.length];
+		for (int i = 0; i < textures.length; i++) {
+			energyLayers[i] = new TextureRegion(textures[i], 0, 0, 128, 128);
+		}
 
 		orbVfx = ImageMaster.loadImage(DEFAULT_ORB_VFX);
 	}
 	
+	// buildCustomOrb - orbTextures holds the rotating layers, the base layer
+	// and the disabled rotating layers, they are packed into a single texture
 	private void buildCustomOrb(String[] orbTextures, String orbVfxPath) {
-		for(String texPath : orbTextures) {
-			energyLayers.add(new Texture(Gdx.files.internal(texPath)));
+		layerCount = (orbTextures.length - 1) / 2;
+		energyLayers = new TextureRegion[orbTextures.length];
+		TextureRegion placeholder = new TextureRegion(AsyncTextureLoader.getPlaceholder());
+		for (int i = 0; i < energyLayers.length; i++) {
+			energyLayers[i] = placeholder;
 		}
+
+		String[] paths = orbTextures.clone();
+		String key = "orb#" + String.join("|", paths);
+		AsyncTextureLoader.loadGenerated(key, () -> {
+			PackedOrb packed = packOrbLayers(paths);
+			orbLayouts.put(key, packed.rects);
+			return packed.page;
+		}, texture -> {
+			int[][] rects = orbLayouts.get(key);
+			if (texture == null || rects == null) {
+				return;
+			}
+			for (int i = 0; i < rects.length && i < energyLayers.length; i++) {
+				if (rects[i] == null) {
+					logger.error("orb layer " + paths[i] + " missing from packed orb " + key);
+					continue;
+				}
+				energyLayers[i] = new TextureRegion(texture, rects[i][0], rects[i][1], rects[i][2], rects[i][3]);
+			}
+		});
 		
-		orbVfx = new Texture(Gdx.files.internal(orbVfxPath));
+		orbVfx = AsyncTextureLoader.getPlaceholder();
+		AsyncTextureLoader.load(orbVfxPath, texture -> {
+			if (texture != null) {
+				orbVfx = texture;
+			}
+		});
 	}
-	
-	public void renderOrb(EnergyPanel panel, SpriteBatch sb) {
-		sb.setColor(Color.WHITE);
-		
-		Field orb_scale;
-		Field orb_angle_1;
-		Field orb_angle_2;
-		Field orb_angle_3;
-		Field orb_angle_4;
-		Field orb_angle_5;
-		
+
+	// packOrbLayers - lays the layers out in a grid on one pixmap, runs on a
+	// texture loader worker thread
+	private static PackedOrb packOrbLayers(String[] paths) {
+		int[][] rects = new int[paths.length][];
+		Pixmap[] images = new Pixmap[paths.length];
 		try {
-			orb_scale = panel.getClass().getDeclaredField("ORB_IMG_SCALE");
-			orb_scale.setAccessible(true);
-			
-			float ORB_IMG_SCALE = orb_scale.getFloat(panel);
-			
-			orb_angle_1 = panel.getClass().getDeclaredField("angle1");
-			orb_angle_1.setAccessible(true);
-			
-			float angle1 = orb_angle_1.getFloat(panel);
-			
-			orb_angle_2 = panel.getClass().getDeclaredField("angle2");
-			orb_angle_2.setAccessible(true);
-			
-			float angle2 = orb_angle_2.getFloat(panel);
-			
-			orb_angle_3 = panel.getClass().getDeclaredField("angle3");
-			orb_angle_3.setAccessible(true);
-			
-			float angle3 = orb_angle_3.getFloat(panel);
-			
-			orb_angle_4 = panel.getClass().getDeclaredField("angle4");
-			orb_angle_4.setAccessible(true);
-			
-			float angle4 = orb_angle_4.getFloat(panel);
-			
-			orb_angle_5 = panel.getClass().getDeclaredField("angle5");
-			orb_angle_5.setAccessible(true);
-			
-			float angle5 = orb_angle_5.getFloat(panel);
-			
-			if (energyLayerSpeeds != null) {
-				angles[4] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[0];
-				angles[3] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[1];
-				angles[2] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[2];
-				angles[1] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[3];
-				angles[0] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[4];
-				angle5 = angles[4];
-				angle4 = angles[3];
-				angle3 = angles[2];
-				angle2 = angles[1];
-				angle1 = angles[0];
+			int cell = 0;
+			for (int i = 0; i < paths.length; i++) {
+				images[i] = new Pixmap(Gdx.files.internal(paths[i]));
+				cell = Math.max(cell, Math.max(images[i].getWidth(), images[i].getHeight()));
+			}
+			cell += 2 * ORB_PADDING;
+
+			int columns = (int) Math.ceil(Math.sqrt(paths.length));
+			int rows = (paths.length + columns - 1) / columns;
+			Pixmap page = new Pixmap(columns * cell, rows * cell, Pixmap.Format.RGBA8888);
+			for (int i = 0; i < paths.length; i++) {
+				int x = (i % columns) * cell + ORB_PADDING;
+				int y = (i / columns) * cell + ORB_PADDING;
+				page.drawPixmap(images[i], x, y);
+				// the panel draws the top left 128x128 of every layer
+				rects[i] = new int[] { x, y, Math.min(images[i].getWidth(), 128), Math.min(images[i].getHeight(), 128) };
+			}
+			return new PackedOrb(page, rects);
+		} finally {
+			for (Pixmap image : images) {
+				if (image != null) {
+					image.dispose();
+				}
 			}
-			
-			sb.setColor(Color.WHITE);
-			
-		    sb.draw(energyLayers.get(0), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle1, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(1), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle2, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(2), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle3, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(3), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle4, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(4), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle5, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(5), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, 0.0F, 0, 0, 128, 128, false, false);
-		    
-		    
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			e.printStackTrace();
 		}
-		
+	}
+	
+	public void renderOrb(EnergyPanel panel, SpriteBatch sb) {
+		renderOrbLayers(panel, sb, 0, 0);
 	}
 
 	public void renderDisabledOrb(EnergyPanel panel, SpriteBatch sb) {
-		Field orb_scale, orb_angle_1, orb_angle_2, orb_angle_3,
-				orb_angle_4, orb_angle_5;
-		
-		try {
-			// access private fields off the EnergyPanel
-			orb_scale = panel.getClass().getDeclaredField("ORB_IMG_SCALE");
-			orb_scale.setAccessible(true);
-			float ORB_IMG_SCALE = orb_scale.getFloat(panel);
-			
-			orb_angle_1 = panel.getClass().getDeclaredField("angle1");
-			orb_angle_1.setAccessible(true);
-			
-			float angle1 = orb_angle_1.getFloat(panel);
-			
-			orb_angle_2 = panel.getClass().getDeclaredField("angle2");
-			orb_angle_2.setAccessible(true);
-			
-			float angle2 = orb_angle_2.getFloat(panel);
-			
-			orb_angle_3 = panel.getClass().getDeclaredField("angle3");
-			orb_angle_3.setAccessible(true);
-			
-			float angle3 = orb_angle_3.getFloat(panel);
-			
-			orb_angle_4 = panel.getClass().getDeclaredField("angle4");
-			orb_angle_4.setAccessible(true);
-			
-			float angle4 = orb_angle_4.getFloat(panel);
-			
-			orb_angle_5 = panel.getClass().getDeclaredField("angle5");
-			orb_angle_5.setAccessible(true);
-			
-			float angle5 = orb_angle_5.getFloat(panel);
-			
-			if (energyLayerSpeeds != null) {
-				angles[4] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[5];
-				angles[3] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[6];
-				angles[2] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[7];
-				angles[1] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[8];
-				angles[0] += Gdx.graphics.getDeltaTime() * energyLayerSpeeds[9];
-				angle5 = angles[4];
-				angle4 = angles[3];
-				angle3 = angles[2];
-				angle2 = angles[1];
-				angle1 = angles[0];
+		renderOrbLayers(panel, sb, layerCount + 1, layerCount);
+	}
+
+	// renderOrbLayers - draws the rotating layers starting at firstLayer, the
+	// outermost layer uses the first of their speeds, then the base layer
+	private void renderOrbLayers(EnergyPanel panel, SpriteBatch sb, int firstLayer, int firstSpeed) {
+		EnergyPanelAccessors.Access access = (EnergyPanelAccessors.Access) panel;
+		float ORB_IMG_SCALE = access.basemod_getOrbImgScale();
+		float delta = Gdx.graphics.getDeltaTime();
+
+		sb.setColor(Color.WHITE);
+		for (int i = 0; i < layerCount; i++) {
+			float angle;
+			int speed = firstSpeed + layerCount - 1 - i;
+			if (energyLayerSpeeds != null && speed < energyLayerSpeeds.length) {
+				angles[i] += delta * energyLayerSpeeds[speed];
+				angle = angles[i];
+			} else {
+				// the panel only animates five angles
+				angle = access.basemod_getAngle(Math.min(i + 1, 5));
 			}
-			
-			// actual rendering code
-			sb.setColor(Color.WHITE);
-		    sb.draw(energyLayers.get(6), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle1, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(7), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle2, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(8), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle3, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(9), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle4, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(10), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, angle5, 0, 0, 128, 128, false, false);
-		    
-		    sb.draw(energyLayers.get(5), panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, ORB_IMG_SCALE, ORB_IMG_SCALE, 0.0F, 0, 0, 128, 128, false, false);
-		} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-			e.printStackTrace();
+			renderOrbLayer(panel, sb, energyLayers[firstLayer + i], ORB_IMG_SCALE, angle);
 		}
-		
+		renderOrbLayer(panel, sb, energyLayers[layerCount], ORB_IMG_SCALE, 0.0F);
+	}
+
+	private static void renderOrbLayer(EnergyPanel panel, SpriteBatch sb, TextureRegion layer, float scale, float angle) {
+		sb.draw(layer, panel.current_x - 64.0F, panel.current_y - 64.0F, 64.0F, 64.0F, 128.0F, 128.0F, scale, scale, angle);
 	}
 }
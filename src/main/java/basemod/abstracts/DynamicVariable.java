@@ -13,4 +13,12 @@ public abstract class DynamicVariable
     public abstract int baseValue(AbstractCard card);
 
     public abstract boolean upgraded(AbstractCard card);
+
+    // cacheValues - whether BaseMod may reuse this variable's results for a card
+    // until the card's powers are reapplied (see DynamicValueCache); return false
+    // if the values depend on game state that changes without that happening
+    public boolean cacheValues()
+    {
+        return true;
+    }
 }
@@ -0,0 +1,92 @@
+package basemod.helpers;
+
+import basemod.BaseMod;
+import basemod.DynamicValueCache;
+import basemod.abstracts.DynamicVariable;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+import java.util.ArrayList;
+
+// DescriptionTemplate - a card description split once into literal text and
+// !X! dynamic variable slots, fill() produces the text with the card's values
+//
+// gives the same text the old Scanner and "!(.+)!(.*)" loop in ModalChoice did:
+// words are separated by single spaces with a trailing space, and a word with
+// a variable becomes the variable's value followed by whatever came after
+// the closing !
+class DescriptionTemplate
+{
+    final String source;
+    // literals.length == keys.length + 1, the text is literals[0] keys[0] literals[1] ...
+    private final String[] literals;
+    private final String[] keys;
+
+    private DescriptionTemplate(String source, String[] literals, String[] keys)
+    {
+        this.source = source;
+        this.literals = literals;
+        this.keys = keys;
+    }
+
+    static DescriptionTemplate compile(String source)
+    {
+        ArrayList<String> literals = new ArrayList<>();
+        ArrayList<String> keys = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int length = source.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && Character.isWhitespace(source.charAt(start))) {
+                start++;
+            }
+            if (start == length) {
+                break;
+            }
+            int end = start;
+            while (end < length && !Character.isWhitespace(source.charAt(end))) {
+                end++;
+            }
+
+            int open = source.indexOf('!', start);
+            int close = open < 0 || open >= end ? -1 : source.lastIndexOf('!', end - 1);
+            if (close >= open + 2) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                keys.add(source.substring(open + 1, close));
+                literal.append(source, close + 1, end);
+            } else {
+                literal.append(source, start, end);
+            }
+            literal.append(' ');
+            start = end;
+        }
+        literals.add(literal.toString());
+
+        return new DescriptionTemplate(source, literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    String fill(AbstractCard card)
+    {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(source.length() + 8);
+        for (int i = 0; i < keys.length; i++) {
+            stringBuilder.append(literals[i]);
+            int num = 0;
+            DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(keys[i]);
+            if (dv != null) {
+                if (DynamicValueCache.isModified(dv, card)) {
+                    num = DynamicValueCache.value(dv, card);
+                } else {
+                    num = DynamicValueCache.baseValue(dv, card);
+                }
+            }
+            stringBuilder.append(num);
+        }
+        stringBuilder.append(literals[keys.length]);
+        return stringBuilder.toString();
+    }
+}
@@ -1,16 +1,13 @@
 package basemod.helpers;
 
 import basemod.BaseMod;
-import basemod.abstracts.DynamicVariable;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.monsters.AbstractMonster;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ModalChoice
 {
@@ -21,11 +18,13 @@ public class ModalChoice
 
     private String title;
     private ArrayList<AbstractCard> cards;
+    private DescriptionTemplate[] templates;
 
     ModalChoice(String title, ArrayList<AbstractCard> options)
     {
         this.title = title;
         this.cards = options;
+        this.templates = new DescriptionTemplate[options.size()];
     }
 
     public AbstractCard getCard(int index)
@@ -52,44 +51,30 @@ public class ModalChoice
 
     public List<TooltipInfo> generateTooltips()
     {
-        List<TooltipInfo> ret = new ArrayList<>();
+        List<TooltipInfo> ret = new ArrayList<>(cards.size());
 
-        for (AbstractCard card : cards) {
-            TooltipInfo tooltipInfo = new TooltipInfo(card.name, card.rawDescription);
-            doDynamicVariables(card, tooltipInfo);
-            ret.add(tooltipInfo);
+        for (int i = 0; i < cards.size(); i++) {
+            AbstractCard card = cards.get(i);
+            ret.add(new TooltipInfo(card.name, getTemplate(i).fill(card)));
         }
 
         return ret;
     }
 
-    private static void doDynamicVariables(AbstractCard card, TooltipInfo tooltipInfo)
+    // getTemplate - the compiled description of option i, recompiled only if
+    // the option's rawDescription was replaced
+    private DescriptionTemplate getTemplate(int i)
     {
-        Pattern pattern = Pattern.compile("!(.+)!(.*)");
-
-        StringBuilder stringBuilder = new StringBuilder();
-        Scanner scanner = new Scanner(tooltipInfo.description);
-        while (scanner.hasNext()) {
-            String tmp = scanner.next();
-            Matcher matcher = pattern.matcher(tmp);
-            if (matcher.find()) {
-                String key = matcher.group(1);
-                int num = 0;
-                DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
-                if (dv != null) {
-                    if (dv.isModified(card)) {
-                        num = dv.value(card);
-                    } else {
-                        num = dv.baseValue(card);
-                    }
-                }
-                stringBuilder.append(num);
-                stringBuilder.append(matcher.group(2));
-            } else {
-                stringBuilder.append(tmp);
-            }
-            stringBuilder.append(' ');
+        AbstractCard card = cards.get(i);
+        if (i >= templates.length) {
+            // options added to the builder after create() show up in cards too
+            templates = Arrays.copyOf(templates, cards.size());
+        }
+        DescriptionTemplate template = templates[i];
+        if (template == null || template.source != card.rawDescription) {
+            template = DescriptionTemplate.compile(card.rawDescription);
+            templates[i] = template;
         }
-        tooltipInfo.description = stringBuilder.toString();
+        return template;
     }
 }
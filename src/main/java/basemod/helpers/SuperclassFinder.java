@@ -1,35 +1,122 @@
 package basemod.helpers;
 
 import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import basemod.ReflectionProfiler;
+
+// SuperclassFinder - finds declared members anywhere up the class hierarchy
+//
+// lookups are memoized per class, misses included, and the members handed
+// out are already accessible; only the first lookup of a member walks the
+// hierarchy and none of it uses exceptions for control flow
 public class SuperclassFinder {
-	public static Method getSuperClassMethod(Class<?> obj_class, String methodName, Class<?>... parameterTypes) throws NoSuchMethodException{
-		Method obj_method;
-		try {
-			obj_method = obj_class.getDeclaredMethod(methodName, parameterTypes);
-			return obj_method;
-		} catch (NoSuchMethodException | SecurityException e) {
-			// prevent confusing stackoverflowexception and instead throw the correct exception
-			if (obj_class.getClass().equals(Object.class)) {
-				throw new NoSuchMethodException();
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Optional<Field>>> fields = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<MethodKey, Optional<Method>>> methods = new ConcurrentHashMap<>();
+
+	private static final class MethodKey {
+		private final String name;
+		private final Class<?>[] parameterTypes;
+		private final int hash;
+
+		MethodKey(String name, Class<?>[] parameterTypes) {
+			this.name = name;
+			// callers may reuse the varargs array after the key is cached
+			this.parameterTypes = parameterTypes.clone();
+			this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof MethodKey)) {
+				return false;
 			}
-			Method obj_super_method = getSuperClassMethod(obj_class.getSuperclass(), methodName, parameterTypes);
-				return obj_super_method;
+			MethodKey other = (MethodKey) o;
+			return name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+		}
+	}
+
+	public static Method getSuperClassMethod(Class<?> obj_class, String methodName, Class<?>... parameterTypes) throws NoSuchMethodException{
+		Method obj_method = findMethod(obj_class, methodName, parameterTypes);
+		if (obj_method == null) {
+			throw new NoSuchMethodException(obj_class.getName() + "." + methodName);
 		}
+		return obj_method;
 	}
 	
 	public static Field getSuperclassField(Class<?> obj_class, String fieldName) throws NoSuchFieldException {
-		Field obj_field;
-		try {
-			obj_field = obj_class.getDeclaredField(fieldName);
-			return obj_field;
-		} catch (NoSuchFieldException | SecurityException e) {
-			// prevent confusing stackoverflowexception and instead throw the correct exception
-			if (obj_class.getClass().equals(Object.class)) {
-				throw new NoSuchFieldException();
+		Field obj_field = findField(obj_class, fieldName);
+		if (obj_field == null) {
+			throw new NoSuchFieldException(obj_class.getName() + "." + fieldName);
+		}
+		return obj_field;
+	}
+
+	// findMethod - like getSuperClassMethod but returns null if there is no such method
+	public static Method findMethod(Class<?> obj_class, String methodName, Class<?>... parameterTypes) {
+		long start = ReflectionProfiler.start();
+		ConcurrentHashMap<MethodKey, Optional<Method>> classMethods = methods.computeIfAbsent(obj_class, k -> new ConcurrentHashMap<>());
+		MethodKey key = new MethodKey(methodName, parameterTypes);
+		Optional<Method> result = classMethods.get(key);
+		if (result == null) {
+			result = Optional.ofNullable(lookupMethod(obj_class, methodName, parameterTypes));
+			classMethods.put(key, result);
+		}
+		ReflectionProfiler.record(ReflectionProfiler.Kind.LOOKUP, start);
+		return result.orElse(null);
+	}
+
+	// findField - like getSuperclassField but returns null if there is no such field
+	public static Field findField(Class<?> obj_class, String fieldName) {
+		long start = ReflectionProfiler.start();
+		ConcurrentHashMap<String, Optional<Field>> classFields = fields.computeIfAbsent(obj_class, k -> new ConcurrentHashMap<>());
+		Optional<Field> result = classFields.get(fieldName);
+		if (result == null) {
+			result = Optional.ofNullable(lookupField(obj_class, fieldName));
+			classFields.put(fieldName, result);
+		}
+		ReflectionProfiler.record(ReflectionProfiler.Kind.LOOKUP, start);
+		return result.orElse(null);
+	}
+
+	private static Method lookupMethod(Class<?> obj_class, String methodName, Class<?>[] parameterTypes) {
+		for (Class<?> c = obj_class; c != null; c = c.getSuperclass()) {
+			for (Method m : c.getDeclaredMethods()) {
+				if (m.getName().equals(methodName) && Arrays.equals(m.getParameterTypes(), parameterTypes)) {
+					makeAccessible(m);
+					return m;
+				}
 			}
-			Field obj_super_field = getSuperclassField(obj_class.getSuperclass(), fieldName);
-			return obj_super_field;
+		}
+		return null;
+	}
+
+	private static Field lookupField(Class<?> obj_class, String fieldName) {
+		for (Class<?> c = obj_class; c != null; c = c.getSuperclass()) {
+			for (Field f : c.getDeclaredFields()) {
+				if (f.getName().equals(fieldName)) {
+					makeAccessible(f);
+					return f;
+				}
+			}
+		}
+		return null;
+	}
+
+	// makeAccessible - callers still call setAccessible themselves, so a
+	// refused request is left for them to report
+	private static void makeAccessible(AccessibleObject member) {
+		try {
+			member.setAccessible(true);
+		} catch (RuntimeException e) {
+			// leave as is
 		}
 	}
 }
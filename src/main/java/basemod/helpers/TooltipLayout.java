@@ -0,0 +1,70 @@
+package basemod.helpers;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.helpers.FontHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// TooltipLayout - a card's custom tooltips together with their measured text heights
+//
+// built by CustomCard.getCustomTooltipLayout and reused while the card's
+// description, upgrade state, the tooltip font and each tooltip's description
+// string stay the same
+public class TooltipLayout
+{
+    // a copy of what getCustomTooltips() returned, mods may change their list later
+    public final List<TooltipInfo> tooltips;
+    // FontHelper.getSmartHeight of each tooltip's description
+    public final float[] heights;
+
+    // each tooltip's description when measured, a TooltipInfo edited in place
+    // no longer matches its height
+    private final String[] descriptions;
+    private final String rawDescription;
+    private final int timesUpgraded;
+    private final boolean upgraded;
+    private final BitmapFont font;
+    private final float width;
+    private final float spacing;
+
+    // tooltips may be null for a card without custom tooltips
+    public TooltipLayout(AbstractCard card, List<TooltipInfo> tooltips, BitmapFont font, float width, float spacing)
+    {
+        this.tooltips = tooltips == null ? new ArrayList<>() : new ArrayList<>(tooltips);
+        this.rawDescription = card.rawDescription;
+        this.timesUpgraded = card.timesUpgraded;
+        this.upgraded = card.upgraded;
+        this.font = font;
+        this.width = width;
+        this.spacing = spacing;
+
+        heights = new float[this.tooltips.size()];
+        descriptions = new String[heights.length];
+        for (int i = 0; i < heights.length; i++) {
+            descriptions[i] = this.tooltips.get(i).description;
+            heights[i] = FontHelper.getSmartHeight(font, descriptions[i], width, spacing);
+        }
+    }
+
+    // matches - whether this layout is still valid for card drawn with these settings
+    public boolean matches(AbstractCard card, BitmapFont font, float width, float spacing)
+    {
+        // descriptions are compared by identity, a changed description is a new string
+        if (card.rawDescription != rawDescription
+                || card.timesUpgraded != timesUpgraded
+                || card.upgraded != upgraded
+                || this.font != font
+                || this.width != width
+                || this.spacing != spacing) {
+            return false;
+        }
+        for (int i = 0; i < descriptions.length; i++) {
+            if (tooltips.get(i).description != descriptions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -29,6 +29,13 @@ public class BlockVariable extends DynamicVariable
         return card.baseBlock;
     }
 
+    // reading the field is cheaper than the cache lookup
+    @Override
+    public boolean cacheValues()
+    {
+        return false;
+    }
+
     @Override
     public boolean upgraded(AbstractCard card)
     {
@@ -29,6 +29,13 @@ public class DamageVariable extends DynamicVariable
         return card.baseDamage;
     }
 
+    // reading the field is cheaper than the cache lookup
+    @Override
+    public boolean cacheValues()
+    {
+        return false;
+    }
+
     @Override
     public boolean upgraded(AbstractCard card)
     {
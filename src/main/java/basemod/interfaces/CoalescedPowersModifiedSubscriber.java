@@ -0,0 +1,16 @@
+package basemod.interfaces;
+
+import java.util.Set;
+
+import com.megacrit.cardcrawl.core.AbstractCreature;
+import com.megacrit.cardcrawl.powers.AbstractPower;
+
+// CoalescedPowersModifiedSubscriber - OnPowersModified and PostPowerApply
+// folded into at most one call per frame
+//
+// creatures and powers hold everything PostPowerApply reported this frame
+// (creatures are the targets); both sets are reused after the call returns
+// so copy them if they need to be kept
+public interface CoalescedPowersModifiedSubscriber extends ISubscriber {
+	void receiveCoalescedPowersModified(Set<AbstractCreature> creatures, Set<AbstractPower> powers);
+}
@@ -0,0 +1,11 @@
+package basemod.interfaces;
+
+// ThreadSafeSubscriber - marks a subscriber as safe to run off the main thread
+//
+// PostBattle, PostDeath, StartGame and PostDungeonInitialize are handed to
+// AsyncLane instead of being called inline for subscribers implementing this;
+// anything that has to touch game state should go through
+// AsyncLane.runOnMainThread
+public interface ThreadSafeSubscriber extends ISubscriber {
+
+}
@@ -0,0 +1,63 @@
+package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import javassist.CannotCompileException;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+
+// AbstractCardAccessors - makes AbstractCard implement Access so the render
+// patches can reach its private members with a cast instead of reflection
+@SpirePatch(cls = "com.megacrit.cardcrawl.cards.AbstractCard", method = "renderBannerImage")
+public class AbstractCardAccessors {
+	public interface Access {
+		void basemod_renderHelper(SpriteBatch sb, Color color, Texture img, float drawX, float drawY);
+		void basemod_renderHelper(SpriteBatch sb, Color color, Texture img, float drawX, float drawY, float scale);
+		Color basemod_getRenderColor();
+		Color basemod_getTintColor();
+		Color basemod_getTextColor();
+		float basemod_getCurrentX();
+		float basemod_getCurrentY();
+		void basemod_setPortrait(TextureAtlas.AtlasRegion portrait);
+		Object basemod_getDynamicValues();
+		void basemod_setDynamicValues(Object values);
+	}
+
+	private static final String[] METHODS = {
+		"public void basemod_renderHelper(com.badlogic.gdx.graphics.g2d.SpriteBatch sb, com.badlogic.gdx.graphics.Color color, com.badlogic.gdx.graphics.Texture img, float drawX, float drawY) {"
+			+ " renderHelper(sb, color, img, drawX, drawY); }",
+		"public void basemod_renderHelper(com.badlogic.gdx.graphics.g2d.SpriteBatch sb, com.badlogic.gdx.graphics.Color color, com.badlogic.gdx.graphics.Texture img, float drawX, float drawY, float scale) {"
+			+ " renderHelper(sb, color, img, drawX, drawY, scale); }",
+		"public com.badlogic.gdx.graphics.Color basemod_getRenderColor() { return renderColor; }",
+		"public com.badlogic.gdx.graphics.Color basemod_getTintColor() { return tintColor; }",
+		"public com.badlogic.gdx.graphics.Color basemod_getTextColor() { return textColor; }",
+		"public float basemod_getCurrentX() { return current_x; }",
+		"public float basemod_getCurrentY() { return current_y; }",
+		"public void basemod_setPortrait(com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion portrait) { this.portrait = portrait; }",
+		"public java.lang.Object basemod_getDynamicValues() { return basemod_dynamicValues; }",
+		"public void basemod_setDynamicValues(java.lang.Object values) { basemod_dynamicValues = values; }"
+	};
+
+	// storage for DynamicValueCache
+	private static final String[] FIELDS = {
+		"public java.lang.Object basemod_dynamicValues;"
+	};
+
+	public static void Raw(CtBehavior ctMethodToPatch) throws NotFoundException, CannotCompileException {
+		CtClass ctClass = ctMethodToPatch.getDeclaringClass();
+		ctClass.addInterface(ctClass.getClassPool().get(AbstractCardAccessors.class.getName() + "$Access"));
+		for (String field : FIELDS) {
+			ctClass.addField(CtField.make(field, ctClass));
+		}
+		for (String method : METHODS) {
+			ctClass.addMethod(CtNewMethod.make(method, ctClass));
+		}
+	}
+}
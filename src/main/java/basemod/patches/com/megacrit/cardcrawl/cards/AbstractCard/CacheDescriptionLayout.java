@@ -0,0 +1,15 @@
+package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
+
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import javassist.CannotCompileException;
+import javassist.CtBehavior;
+
+// CacheDescriptionLayout - skips initializeDescription when a card with the
+// same description was already laid out, see DescriptionLayoutCache
+@SpirePatch(cls = "com.megacrit.cardcrawl.cards.AbstractCard", method = "initializeDescription")
+public class CacheDescriptionLayout {
+	public static void Raw(CtBehavior ctMethodToPatch) throws CannotCompileException {
+		ctMethodToPatch.insertBefore("if (basemod.DescriptionLayoutCache.restore(this)) { return; }");
+	}
+}
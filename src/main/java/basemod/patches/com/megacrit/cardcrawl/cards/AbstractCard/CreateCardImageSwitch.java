@@ -11,6 +11,7 @@ import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.AbstractCard.CardColor;
 
 import basemod.BaseMod;
+import basemod.ColorProfile;
 import basemod.helpers.SuperclassFinder;
 import javassist.CannotCompileException;
 import javassist.expr.ExprEditor;
@@ -26,30 +27,31 @@ public class CreateCardImageSwitch {
 		public static void Insert(Object __obj_instance) {
 			AbstractCard card = (AbstractCard) __obj_instance;
 			CardColor color = card.color;
-			if (!color.toString().equals("RED") && !color.toString().equals("GREEN") && !color.toString().equals("BLUE")
-					&& !color.toString().equals("COLORLESS") && !color.toString().equals("CURSE")) {
+			ColorProfile profile = ColorProfile.get(color);
+			if (profile != null && color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
+					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
 				try {
 					Field bgColor;		
 					bgColor = SuperclassFinder.getSuperclassField(card.getClass(), "bgColor");
 					bgColor.setAccessible(true);
-					bgColor.set(card, BaseMod.getBgColor(color.toString()));
+					bgColor.set(card, profile.bgColor);
 						
 					Field backColor;
 					backColor = SuperclassFinder.getSuperclassField(card.getClass(), "backColor");
 					backColor.setAccessible(true);
-					backColor.set(card, BaseMod.getBackColor(color.toString()));
+					backColor.set(card, profile.backColor);
 						
 					Field frameColor = SuperclassFinder.getSuperclassField(card.getClass(), "frameColor");
 					frameColor.setAccessible(true);
-					frameColor.set(card, BaseMod.getFrameColor(color.toString()));
+					frameColor.set(card, profile.frameColor);
 						
 					Field frameOutlineColor = SuperclassFinder.getSuperclassField(card.getClass(), "frameOutlineColor");
 					frameOutlineColor.setAccessible(true);
-					frameOutlineColor.set(card, BaseMod.getFrameOutlineColor(color.toString()));
+					frameOutlineColor.set(card, profile.frameOutlineColor);
 						
 					Field descBoxColor = SuperclassFinder.getSuperclassField(card.getClass(), "descBoxColor");
 					descBoxColor.setAccessible(true);
-					descBoxColor.set(card, BaseMod.getDescBoxColor(color.toString()));
+					descBoxColor.set(card, profile.descBoxColor);
 					
 				} catch (SecurityException | NoSuchFieldException | IllegalArgumentException | IllegalAccessException e) {
 					logger.error("could not set card image properties on card " + card.getClass().toString() + " with color " + color.toString());
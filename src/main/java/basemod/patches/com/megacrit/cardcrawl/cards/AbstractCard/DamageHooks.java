@@ -11,9 +11,29 @@ import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.monsters.AbstractMonster;
 
 import basemod.BaseMod;
+import basemod.DynamicValueCache;
 
 public class DamageHooks {
 
+	// InvalidateDynamicValues - the card's numbers are about to be recalculated
+	@SpirePatch(cls="com.megacrit.cardcrawl.cards.AbstractCard", method="calculateCardDamage")
+	public static class CalculateCardDamageInvalidate {
+
+		public static void Prefix(AbstractCard __instance, AbstractMonster monster) {
+			DynamicValueCache.invalidate(__instance);
+		}
+
+	}
+
+	@SpirePatch(cls="com.megacrit.cardcrawl.cards.AbstractCard", method="applyPowers")
+	public static class ApplyPowersInvalidate {
+
+		public static void Prefix(AbstractCard __instance) {
+			DynamicValueCache.invalidate(__instance);
+		}
+
+	}
+
 	@SpirePatch(cls="com.megacrit.cardcrawl.cards.AbstractCard", method="calculateCardDamage")
 	public static class CalculateCardDamage {
 
@@ -1,6 +1,8 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
 import basemod.BaseMod;
+import basemod.DynamicValueCache;
+import basemod.DescriptionPlan;
 import basemod.abstracts.DynamicVariable;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -17,10 +19,6 @@ import javassist.expr.MethodCall;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Field;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 @SpirePatch(
         cls="com.megacrit.cardcrawl.cards.AbstractCard",
         method="renderDescription"
@@ -55,67 +53,60 @@ public class RenderCustomDynamicVariable
     {
         private static Logger logger = LogManager.getLogger();
         private static final GlyphLayout gl = new GlyphLayout();
+        private static final StringBuilder stringBuilder = new StringBuilder();
 
         public static float myRenderDynamicVariable(Object __obj_instance, String key, char ckey, float start_x, float draw_y, int i, BitmapFont font, SpriteBatch sb, Character cend)
         {
             AbstractCard __instance = (AbstractCard) __obj_instance;
-            // Get any private variables we need
-            Color textColor = Settings.CREAM_COLOR;
-            try {
-                Field f = AbstractCard.class.getDeclaredField("textColor");
-                f.setAccessible(true);
-                textColor = (Color) f.get(__instance);
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                e.printStackTrace();
-            }
+            Color textColor = ((AbstractCardAccessors.Access) __instance).basemod_getTextColor();
 
+            DescriptionPlan.Word word = DescriptionPlan.get(key);
             String end = "";
-
-            Pattern pattern = Pattern.compile("!(.+)!(.*) ");
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find()) {
-                key = matcher.group(1);
-                end = matcher.group(2);
+            if (word.kind == DescriptionPlan.Kind.DYNAMIC_VARIABLE) {
+                key = word.key;
+                end = word.end;
             }
 
             // Main body of method
-            StringBuilder stringBuilder = new StringBuilder();
             Color c = null;
             int num = 0;
-            DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+            DynamicVariable dv = word.kind == DescriptionPlan.Kind.DYNAMIC_VARIABLE ? word.getVariable() : BaseMod.cardDynamicVariableMap.get(key);
             if (dv != null) {
-                if (dv.isModified(__instance)) {
-                    num = dv.value(__instance);
-                    if (num >= dv.baseValue(__instance)) {
+                if (DynamicValueCache.isModified(dv, __instance)) {
+                    num = DynamicValueCache.value(dv, __instance);
+                    if (num >= DynamicValueCache.baseValue(dv, __instance)) {
                         c = Settings.GREEN_TEXT_COLOR;
                     } else {
                         c = Settings.RED_TEXT_COLOR;
                     }
                 } else {
                     c = textColor;
-                    num = dv.baseValue(__instance);
+                    num = DynamicValueCache.baseValue(dv, __instance);
                 }
             } else {
                 logger.error("No dynamic card variable found for key \"" + key + "\"!");
                 c = textColor;
             }
-            stringBuilder.append(num);
-            gl.setText(font, stringBuilder.toString());
-            FontHelper.renderRotatedText(sb, font, stringBuilder.toString(),
+            String text = DescriptionPlan.numberText(num);
+            gl.setText(font, text);
+            float numWidth = gl.width;
+            FontHelper.renderRotatedText(sb, font, text,
                     __instance.current_x, __instance.current_y,
-                    start_x - __instance.current_x + gl.width / 2.0f,
+                    start_x - __instance.current_x + numWidth / 2.0f,
                     i * 1.45f * -font.getCapHeight() + draw_y - __instance.current_y + -6.0f,
                     __instance.angle, true, c);
+            stringBuilder.setLength(0);
+            stringBuilder.append(text);
             if (!end.isEmpty()) {
                 FontHelper.renderRotatedText(sb, font, end,
                         __instance.current_x, __instance.current_y,
-                        start_x - __instance.current_x + gl.width + 4.0f * Settings.scale,
+                        start_x - __instance.current_x + numWidth + 4.0f * Settings.scale,
                         i * 1.45f * -font.getCapHeight() + draw_y - __instance.current_y + -6.0f,
                         0.0f, true, Settings.CREAM_COLOR);
                 stringBuilder.append(end);
             }
             stringBuilder.append(' ');
-            gl.setText(font, stringBuilder.toString());
+            gl.setText(font, stringBuilder);
             return gl.width;
         }
     }
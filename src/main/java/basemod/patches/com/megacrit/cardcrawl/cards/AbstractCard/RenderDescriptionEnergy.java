@@ -1,6 +1,8 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
 import basemod.BaseMod;
+import basemod.DescriptionLayoutCache;
+import basemod.DescriptionPlan;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
@@ -14,13 +16,9 @@ import javassist.CannotCompileException;
 import javassist.CtBehavior;
 
 import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class RenderDescriptionEnergy
 {
-    private static Pattern r = Pattern.compile("\\[([RGBE])\\](\\.?) ");
-
     @SpirePatch(
             cls="com.megacrit.cardcrawl.cards.AbstractCard",
             method="renderDescription"
@@ -33,9 +31,9 @@ public class RenderDescriptionEnergy
         )
         public static void Insert(AbstractCard __instance, SpriteBatch sb, @ByRef String[] tmp)
         {
-            Matcher m = r.matcher(tmp[0]);
-            if (m.find()) {
-                tmp[0] = "[E]" + (m.group(2).equals(".") ? "." : "") + " ";
+            DescriptionPlan.Word word = DescriptionPlan.get(tmp[0]);
+            if (word.kind == DescriptionPlan.Kind.ENERGY) {
+                tmp[0] = word.period ? "[E]. " : "[E] ";
             }
         }
     }
@@ -55,14 +53,14 @@ public class RenderDescriptionEnergy
         public static void Insert(AbstractCard __instance, SpriteBatch sb, float spacing, int i, @ByRef float[] start_x, float draw_y,
                                   BitmapFont font, Color textColor, @ByRef String[] tmp, GlyphLayout gl)
         {
-            Matcher m = r.matcher(tmp[0]);
-            if (m.find()) {
+            DescriptionPlan.Word word = DescriptionPlan.get(tmp[0]);
+            if (word.kind == DescriptionPlan.Kind.ENERGY) {
                 gl.width = CARD_ENERGY_IMG_WIDTH * __instance.drawScale;
                 float tmp2 = (__instance.description.size() - 4) * spacing;
                 __instance.renderSmallEnergy(sb, BaseMod.getCardSmallEnergy(__instance),
                         (start_x[0] - __instance.current_x) / Settings.scale / __instance.drawScale,
                         -tmp2 - 172.0f + CARD_ENERGY_IMG_WIDTH * __instance.drawScale + i * spacing * 2.0f);
-                if (m.group(2).equals(".")) {
+                if (word.period) {
                     FontHelper.renderRotatedText(sb, font, ".",
                             __instance.current_x, __instance.current_y,
                             start_x[0] - __instance.current_x + CARD_ENERGY_IMG_WIDTH * __instance.drawScale,
@@ -104,6 +102,8 @@ public class RenderDescriptionEnergy
 
         public static void Postfix(AbstractCard __instance)
         {
+            DescriptionPlan.compile(__instance);
+
             int[] idxs = new int[3];
             idxs[0] = __instance.keywords.indexOf("[R]");
             idxs[1] = __instance.keywords.indexOf("[G]");
@@ -124,6 +124,8 @@ public class RenderDescriptionEnergy
                 __instance.keywords.remove("[G]");
                 __instance.keywords.remove("[B]");
             }
+
+            DescriptionLayoutCache.store(__instance);
         }
     }
 }
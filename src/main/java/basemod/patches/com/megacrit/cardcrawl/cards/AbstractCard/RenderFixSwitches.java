@@ -1,27 +1,49 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.evacipated.cardcrawl.modthespire.lib.SpireInsertPatch;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.AbstractCard.CardColor;
+import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.helpers.ImageMaster;
 
 import basemod.BaseMod;
+import basemod.ColorProfile;
+import basemod.ColorTextures;
+import basemod.CustomCardAtlas;
+import basemod.ScaledTextures;
 import basemod.abstracts.CustomCard;
-import basemod.helpers.SuperclassFinder;
 
 public class RenderFixSwitches {
 
+	// layerPath - the image a card layer is drawn from, the card's own or its color's
+	private static String layerPath(AbstractCard card, String customPath, ColorTextures.Kind kind) {
+		if (customPath != null) {
+			return customPath;
+		}
+		ColorProfile profile = ColorProfile.get(card.color);
+		return profile == null ? null : profile.getTexturePath(kind);
+	}
+
+	// renderScaled - draws a smaller copy of the image at path when the card is
+	// drawn small enough, false if the caller has to draw the full image
+	private static boolean renderScaled(AbstractCard card, SpriteBatch sb, Color color, String path, float x, float y) {
+		TextureRegion scaled = ScaledTextures.find(path, card.drawScale * Settings.scale);
+		if (scaled == null) {
+			return false;
+		}
+		CustomCardAtlas.render(card, sb, color, scaled, x, y);
+		return true;
+	}
+
 	@SpirePatch(cls = "com.megacrit.cardcrawl.cards.AbstractCard", method = "renderBannerImage")
 	public static class RenderBannerSwitch {
 		public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
@@ -29,9 +51,18 @@ public class RenderFixSwitches {
 		public static void Replace(Object __obj_instance, SpriteBatch sb, float drawX, float drawY) {
 			AbstractCard card = (AbstractCard)__obj_instance;
 			AbstractCard.CardRarity rarity = card.rarity;
+			AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
 			
 			Texture bannerTexture = null;
 			if (card instanceof CustomCard) {
+				TextureAtlas.AtlasRegion bannerRegion = ((CustomCard)card).getBannerSmallRegion();
+				if (bannerRegion != null) {
+					CustomCardAtlas.render(card, sb, access.basemod_getRenderColor(), bannerRegion, drawX, drawY);
+					return;
+				}
+				if (renderScaled(card, sb, access.basemod_getRenderColor(), ((CustomCard)card).textureBannerSmallImg, drawX, drawY)) {
+					return;
+				}
 				bannerTexture = ((CustomCard)card).getBannerSmallTexture();
 			}
 			if(bannerTexture == null) {
@@ -51,23 +82,7 @@ public class RenderFixSwitches {
 						bannerTexture = ImageMaster.CARD_BANNER_COMMON;
 				}
 			}
-			try {
-				Method renderHelperMethod;
-				Field renderColorField; 
-				
-				renderHelperMethod = SuperclassFinder.getSuperClassMethod(card.getClass(), "renderHelper", SpriteBatch.class, Color.class, Texture.class, float.class, float.class);
-				renderHelperMethod.setAccessible(true);
-				renderColorField = SuperclassFinder.getSuperclassField(card.getClass(), "renderColor");
-				renderColorField.setAccessible(true);
-				
-				Color renderColor = (Color) renderColorField.get(card);
-				renderHelperMethod.invoke(card, sb, renderColor, bannerTexture, drawX, drawY);
-			}
-			catch(IllegalAccessException | IllegalArgumentException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException | SecurityException e) {
-				logger.error("could not render banner for card " + card.getClass().toString() + " with color " + card.color.toString());
-				logger.error("exception is: " + e.getMessage());
-				e.printStackTrace();
-			}
+			access.basemod_renderHelper(sb, access.basemod_getRenderColor(), bannerTexture, drawX, drawY);
 		}
 	}
 	
@@ -83,18 +98,28 @@ public class RenderFixSwitches {
 
 			if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
 					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
+				AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+				if (card instanceof CustomCard) {
+					TextureAtlas.AtlasRegion orbRegion = ((CustomCard) card).getOrbSmallRegion();
+					if (orbRegion != null) {
+						CustomCardAtlas.render(card, sb, access.basemod_getRenderColor(), orbRegion, drawX, drawY);
+						return;
+					}
+				}
+				String orbPath = layerPath(card, card instanceof CustomCard ? ((CustomCard) card).textureOrbSmallImg : null, ColorTextures.Kind.ENERGY_ORB);
+				if (renderScaled(card, sb, access.basemod_getRenderColor(), orbPath, drawX, drawY)) {
+					return;
+				}
 				Texture orbTexture = null;
 				try {
 					if (card instanceof CustomCard) {
 						orbTexture = ((CustomCard) card).getOrbSmallTexture();
 					}
 					if (orbTexture == null){
-						Texture baseModTexture = BaseMod.getEnergyOrbTexture(color.toString());
-						if (baseModTexture == null) {
-							orbTexture = new Texture(BaseMod.getEnergyOrb(color.toString()));
-							BaseMod.saveEnergyOrbTexture(color.toString(), orbTexture);
-						} else {
-							orbTexture = baseModTexture;
+						orbTexture = ColorTextures.get(color, ColorTextures.Kind.ENERGY_ORB);
+						if (orbTexture == null) {
+							// draw the default until the texture is uploaded
+							orbTexture = ImageMaster.CARD_COLORLESS_ORB;
 						}
 					}
 				} catch (NullPointerException e) {
@@ -103,25 +128,8 @@ public class RenderFixSwitches {
 					e.printStackTrace();
 					orbTexture = ImageMaster.CARD_COLORLESS_ORB;
 				}
-				try {
-					// use reflection hacks to invoke renderHelper (without float scale)
-					Method renderHelperMethod;
-					Field renderColorField; 
-					
-					
-					renderHelperMethod = SuperclassFinder.getSuperClassMethod(card.getClass(), "renderHelper", SpriteBatch.class, Color.class, Texture.class, float.class, float.class);
-					renderHelperMethod.setAccessible(true);
-					renderColorField = SuperclassFinder.getSuperclassField(card.getClass(), "renderColor");
-					renderColorField.setAccessible(true);
-					
-						
-					Color renderColor = (Color) renderColorField.get(card);
-					renderHelperMethod.invoke(card, sb, renderColor, orbTexture, drawX, drawY);
-				} catch (IllegalAccessException | IllegalArgumentException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException | SecurityException e) {
-					logger.error("could not render energy for card " + card.getClass().toString() + " with color " + color.toString());
-					logger.error("exception is: " + e.getMessage());
-					e.printStackTrace();
-				}
+				// invoke renderHelper (without float scale)
+				access.basemod_renderHelper(sb, access.basemod_getRenderColor(), orbTexture, drawX, drawY);
 
 			}
 
@@ -139,31 +147,15 @@ public class RenderFixSwitches {
 			SpriteBatch sb = (SpriteBatch) sbObj;
 			if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
 					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
-				Color glowColor = BaseMod.getGlowColor(color.toString());
+				ColorProfile profile = ColorProfile.get(color);
+				Color glowColor = profile == null ? null : profile.glowColor;
 				if (glowColor == null) {
 					glowColor = Color.WHITE;
 				}
-				try {
-					// use reflection hacks to invoke renderHelper (with float scale)
-					Field current_x;
-					current_x = AbstractCard.class.getDeclaredField("current_x");
-					current_x.setAccessible(true);
-					Field current_y;
-					current_y = AbstractCard.class.getDeclaredField("current_y");
-					current_y.setAccessible(true);
-					Field tintColor;
-					tintColor = AbstractCard.class.getDeclaredField("tintColor");
-					tintColor.setAccessible(true);
-					Method renderHelperMethod = AbstractCard.class.getDeclaredMethod("renderHelper", SpriteBatch.class,
-							Color.class, Texture.class, float.class, float.class, float.class);
-					renderHelperMethod.setAccessible(true);
-					renderHelperMethod.invoke(card, sb, glowColor, card.getCardBg(),
-							((Float)current_x.get(card)) - 256.0f, ((Float)current_y.get(card)) - 256.0f, 1.0F + ((Color)tintColor.get(card)).a / 5.0f);
-				} catch (Exception e) {
-					logger.error("could not render outer glow for card " + card.getClass().toString() + " with color " + color.toString());
-					logger.error("with exception: " + e.getMessage());
-					e.printStackTrace();
-				}
+				// invoke renderHelper (with float scale)
+				AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+				access.basemod_renderHelper(sb, glowColor, card.getCardBg(),
+						access.basemod_getCurrentX() - 256.0f, access.basemod_getCurrentY() - 256.0f, 1.0F + access.basemod_getTintColor().a / 5.0f);
 			}
 		}
 	}
@@ -184,18 +176,28 @@ public class RenderFixSwitches {
 
 			if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
 					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
+				AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+				if (card instanceof CustomCard) {
+					TextureAtlas.AtlasRegion bgRegion = ((CustomCard) card).getBackgroundSmallRegion();
+					if (bgRegion != null) {
+						CustomCardAtlas.render(card, sb, access.basemod_getRenderColor(), bgRegion, x, y);
+						return;
+					}
+				}
+				String bgPath = layerPath(card, card instanceof CustomCard ? ((CustomCard) card).textureBackgroundSmallImg : null, ColorTextures.Kind.ATTACK_BG);
+				if (renderScaled(card, sb, access.basemod_getRenderColor(), bgPath, x, y)) {
+					return;
+				}
 				Texture bgTexture = null;
 				try {
 					if (card instanceof CustomCard) {
 						bgTexture = ((CustomCard) card).getBackgroundSmallTexture();
 					}
 					if (bgTexture == null) {
-						Texture baseModTexture = BaseMod.getAttackBgTexture(color.toString());
-						if (baseModTexture == null) {
-							bgTexture = new Texture(BaseMod.getAttackBg(color.toString()));
-							BaseMod.saveAttackBgTexture(color.toString(), bgTexture);
-						} else {
-							bgTexture = baseModTexture;
+						bgTexture = ColorTextures.get(color, ColorTextures.Kind.ATTACK_BG);
+						if (bgTexture == null) {
+							// draw the default until the texture is uploaded
+							bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 						}
 					}
 				} catch (NullPointerException e) {
@@ -204,20 +206,8 @@ public class RenderFixSwitches {
 					e.printStackTrace();
 					bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 				}
-				try {
-					// use reflection hacks to invoke renderHelper (without float scale)
-					Method renderHelperMethod = SuperclassFinder.getSuperClassMethod(card.getClass(), "renderHelper", SpriteBatch.class,
-							Color.class, Texture.class, float.class, float.class);
-					renderHelperMethod.setAccessible(true);
-					Field renderColorField = SuperclassFinder.getSuperclassField(card.getClass(), "renderColor");
-					renderColorField.setAccessible(true);
-					Color renderColor = (Color) renderColorField.get(card);
-					renderHelperMethod.invoke(card, sb, renderColor, bgTexture, x, y);
-				} catch (IllegalAccessException | IllegalArgumentException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException | SecurityException e) {
-					logger.error("could not set card attack bg on card " + card.getClass().toString() + " with color " + color.toString());
-					logger.error("exception is: " + e.getMessage());
-					e.printStackTrace();
-				}
+				// invoke renderHelper (without float scale)
+				access.basemod_renderHelper(sb, access.basemod_getRenderColor(), bgTexture, x, y);
 			}
 		}
 	}
@@ -237,20 +227,30 @@ public class RenderFixSwitches {
 			CardColor color = card.color;
 			SpriteBatch sb = (SpriteBatch) sbObj;
 			
-			if (!color.toString().equals("RED") && !color.toString().equals("GREEN") && !color.toString().equals("BLUE")
-					&& !color.toString().equals("COLORLESS") && !color.toString().equals("CURSE")) {
+			if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
+					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
+				AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+				if (card instanceof CustomCard) {
+					TextureAtlas.AtlasRegion bgRegion = ((CustomCard) card).getBackgroundSmallRegion();
+					if (bgRegion != null) {
+						CustomCardAtlas.render(card, sb, access.basemod_getRenderColor(), bgRegion, x, y);
+						return;
+					}
+				}
+				String bgPath = layerPath(card, card instanceof CustomCard ? ((CustomCard) card).textureBackgroundSmallImg : null, ColorTextures.Kind.POWER_BG);
+				if (renderScaled(card, sb, access.basemod_getRenderColor(), bgPath, x, y)) {
+					return;
+				}
 				Texture bgTexture = null;
 				try {
 					if (card instanceof CustomCard) {
 						bgTexture = ((CustomCard) card).getBackgroundSmallTexture();
 					}
 					if (bgTexture == null) {
-						Texture baseModTexture = BaseMod.getPowerBgTexture(color.toString());
-						if (baseModTexture == null) {
-							bgTexture = new Texture(BaseMod.getPowerBg(color.toString()));
-							BaseMod.savePowerBgTexture(color.toString(), bgTexture);
-						} else {
-							bgTexture = baseModTexture;
+						bgTexture = ColorTextures.get(color, ColorTextures.Kind.POWER_BG);
+						if (bgTexture == null) {
+							// draw the default until the texture is uploaded
+							bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 						}
 					}
 				} catch (NullPointerException e) {
@@ -259,18 +259,8 @@ public class RenderFixSwitches {
 					e.printStackTrace();
 					bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 				}
-				try {
-					// use reflection hacks to invoke renderHelper (without float scale)
-					Method renderHelperMethod = SuperclassFinder.getSuperClassMethod(card.getClass(), "renderHelper", SpriteBatch.class,
-							Color.class, Texture.class, float.class, float.class);
-					renderHelperMethod.setAccessible(true);
-					Field renderColorField = SuperclassFinder.getSuperclassField(card.getClass(), "renderColor");
-					renderColorField.setAccessible(true);
-					Color renderColor = (Color) renderColorField.get(card);
-					renderHelperMethod.invoke(card, sb, renderColor, bgTexture, x, y);
-				} catch (IllegalAccessException | IllegalArgumentException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException | SecurityException e) {
-					logger.error("could not set card skill bg on card " + card.getClass().toString() + " with color " + color.toString());
-				}
+				// invoke renderHelper (without float scale)
+				access.basemod_renderHelper(sb, access.basemod_getRenderColor(), bgTexture, x, y);
 			}
 		}
 	}
@@ -289,20 +279,30 @@ public class RenderFixSwitches {
 			CardColor color = card.color;
 			SpriteBatch sb = (SpriteBatch) sbObj;
 			
-			if (!color.toString().equals("RED") && !color.toString().equals("GREEN") && !color.toString().equals("BLUE")
-					&& !color.toString().equals("COLORLESS") && !color.toString().equals("CURSE")) {
+			if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
+					&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
+				AbstractCardAccessors.Access access = (AbstractCardAccessors.Access) card;
+				if (card instanceof CustomCard) {
+					TextureAtlas.AtlasRegion bgRegion = ((CustomCard) card).getBackgroundSmallRegion();
+					if (bgRegion != null) {
+						CustomCardAtlas.render(card, sb, access.basemod_getRenderColor(), bgRegion, x, y);
+						return;
+					}
+				}
+				String bgPath = layerPath(card, card instanceof CustomCard ? ((CustomCard) card).textureBackgroundSmallImg : null, ColorTextures.Kind.SKILL_BG);
+				if (renderScaled(card, sb, access.basemod_getRenderColor(), bgPath, x, y)) {
+					return;
+				}
 				Texture bgTexture = null;
 				try {
 					if (card instanceof CustomCard) {
 						bgTexture = ((CustomCard) card).getBackgroundSmallTexture();
 					}
 					if (bgTexture == null) {
-						Texture baseModTexture = BaseMod.getSkillBgTexture(color.toString());
-						if (baseModTexture == null) {
-							bgTexture = new Texture(BaseMod.getSkillBg(color.toString()));
-							BaseMod.saveSkillBgTexture(color.toString(), bgTexture);
-						} else {
-							bgTexture = baseModTexture;
+						bgTexture = ColorTextures.get(color, ColorTextures.Kind.SKILL_BG);
+						if (bgTexture == null) {
+							// draw the default until the texture is uploaded
+							bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 						}
 					}
 				} catch (NullPointerException e) {
@@ -311,18 +311,8 @@ public class RenderFixSwitches {
 					e.printStackTrace();
 					bgTexture = ImageMaster.CARD_SKILL_BG_BLACK;
 				}
-				try {
-					// use reflection hacks to invoke renderHelper (without float scale)
-					Method renderHelperMethod = SuperclassFinder.getSuperClassMethod(card.getClass(), "renderHelper", SpriteBatch.class,
-							Color.class, Texture.class, float.class, float.class);
-					renderHelperMethod.setAccessible(true);
-					Field renderColorField = SuperclassFinder.getSuperclassField(card.getClass(), "renderColor");
-					renderColorField.setAccessible(true);
-					Color renderColor = (Color) renderColorField.get(card);
-					renderHelperMethod.invoke(card, sb, renderColor, bgTexture, x, y);
-				} catch (IllegalAccessException | IllegalArgumentException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException | SecurityException e) {
-					logger.error("could not set card skill bg on card " + card.getClass().toString() + " with color " + color.toString());
-				}
+				// invoke renderHelper (without float scale)
+				access.basemod_renderHelper(sb, access.basemod_getRenderColor(), bgTexture, x, y);
 			}
 		}
 	}
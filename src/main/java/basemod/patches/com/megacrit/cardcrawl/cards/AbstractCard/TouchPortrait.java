@@ -0,0 +1,20 @@
+package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import basemod.PortraitResidency;
+import basemod.abstracts.CustomCard;
+
+@SpirePatch(cls="com.megacrit.cardcrawl.cards.AbstractCard", method="renderPortrait")
+public class TouchPortrait {
+
+	public static void Prefix(Object __obj_instance, SpriteBatch sb) {
+		// loads the portrait on first render and keeps it from being evicted;
+		// also runs while residency is disabled for cards created before that
+		if (__obj_instance instanceof CustomCard) {
+			PortraitResidency.touch(((CustomCard) __obj_instance).textureImg);
+		}
+	}
+	
+}
@@ -18,6 +18,7 @@ import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.helpers.DrawMaster;
 
 import basemod.BaseMod;
+import basemod.ReflectionProfiler;
 import javassist.CannotCompileException;
 import javassist.CtBehavior;
 
@@ -51,9 +52,11 @@ public class RenderHooks {
 	    	CardCrawlGame instance = (CardCrawlGame) __obj_instance;
 	        Field cameraField;
 			try {
+				long reflectStart = ReflectionProfiler.start();
 				cameraField = CardCrawlGame.class.getDeclaredField("camera");
 		        cameraField.setAccessible(true);
 		        OrthographicCamera camera = (OrthographicCamera) cameraField.get(instance);
+		        ReflectionProfiler.record(ReflectionProfiler.Kind.GET, reflectStart);
 		        BaseMod.publishPreRender(camera);
 			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
 				logger.error("could not get camera for render hook ");
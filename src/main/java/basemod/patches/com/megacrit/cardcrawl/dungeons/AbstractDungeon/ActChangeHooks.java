@@ -7,12 +7,26 @@ import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.saveAndContinue.SaveFile;
 
 import basemod.BaseMod;
+import basemod.Subscription;
 
 public class ActChangeHooks {
 
 	@SpirePatch(cls="com.megacrit.cardcrawl.dungeons.AbstractDungeon", method="ctor")
 	public static class InGameConstructor {
 		
+		// Prefix - a new Exordium is a new run, whatever ended the previous one
+		// (abandoning, save and quit) may not have ended its scopes; any other
+		// level means the previous act ended. done before the dungeon is built
+		// so subscriptions made while building it stay
+		public static void Prefix(Object __obj_instance,
+				String name, String levelId, AbstractPlayer p, ArrayList<String> newSpecialOneTimeEventList) {
+			if (levelId.equals("Exordium")) {
+				BaseMod.endRunSubscriptionScopes();
+			} else {
+				BaseMod.endSubscriptionScope(Subscription.Scope.ACT);
+			}
+		}
+		
 		public static void Postfix(Object __obj_instance,
 				String name, String levelId, AbstractPlayer p, ArrayList<String> newSpecialOneTimeEventList) {
 			if (levelId.equals("Exordium")) {
@@ -27,6 +41,12 @@ public class ActChangeHooks {
 			paramtypes={"java.lang.String", "com.megacrit.cardcrawl.characters.AbstractPlayer", "com.megacrit.cardcrawl.saveAndContinue.SaveFile"})
 	public static class SavedGameConstructor {
 
+		// Prefix - continuing a save starts a new run as far as scopes go
+		public static void Prefix(Object __obj_instance,
+				String name, AbstractPlayer p, SaveFile saveFile) {
+			BaseMod.endRunSubscriptionScopes();
+		}
+
 		public static void Postfix(Object __obj_instance,
 				String name, AbstractPlayer p, SaveFile saveFile) {
 			BaseMod.publishStartGame();
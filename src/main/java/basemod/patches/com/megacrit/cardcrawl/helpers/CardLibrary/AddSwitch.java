@@ -6,7 +6,7 @@ import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.AbstractCard.CardColor;
 import com.megacrit.cardcrawl.unlock.UnlockTracker;
 
-import basemod.BaseMod;
+import basemod.ColorProfile;
 
 @SpirePatch(cls = "com.megacrit.cardcrawl.helpers.CardLibrary", method = "add")
 public class AddSwitch {
@@ -14,11 +14,15 @@ public class AddSwitch {
 	public static void Insert(Object cardObj) {
 		AbstractCard card = (AbstractCard) cardObj;
 		CardColor color = card.color;
-		if (!color.toString().equals("RED") && !color.toString().equals("GREEN") && !color.toString().equals("BLUE")
-				&& !color.toString().equals("COLORLESS") && !color.toString().equals("CURSE")) {
-			BaseMod.incrementCardCount(color.toString());
+		if (color != CardColor.RED && color != CardColor.GREEN && color != CardColor.BLUE
+				&& color != CardColor.COLORLESS && color != CardColor.CURSE) {
+			ColorProfile profile = ColorProfile.get(color);
+			if (profile == null) {
+				profile = ColorProfile.getOrCreate(color.toString());
+			}
+			profile.cardCount = profile.cardCount != null ? profile.cardCount + 1 : 0;
 			if (UnlockTracker.isCardSeen(card.cardID)) {
-				BaseMod.incrementSeenCardCount(color.toString());
+				profile.cardSeenCount = profile.cardSeenCount != null ? profile.cardSeenCount + 1 : 0;
 			}
 		}
 	}
@@ -0,0 +1,15 @@
+package basemod.patches.com.megacrit.cardcrawl.helpers.CardLibrary;
+
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import basemod.CustomCardAtlas;
+
+@SpirePatch(cls="com.megacrit.cardcrawl.helpers.CardLibrary", method="initialize")
+public class PackCardAtlas {
+
+	public static void Postfix() {
+		// every custom card exists now, pack their art if enabled
+		CustomCardAtlas.pack();
+	}
+	
+}
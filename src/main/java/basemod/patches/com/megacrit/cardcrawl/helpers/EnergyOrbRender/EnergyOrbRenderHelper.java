@@ -1,14 +1,11 @@
 package basemod.patches.com.megacrit.cardcrawl.helpers.EnergyOrbRender;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.ui.panels.EnergyPanel;
 
 import basemod.abstracts.CustomPlayer;
+import basemod.patches.com.megacrit.cardcrawl.ui.panels.EnergyPanel.EnergyPanelAccessors;
 
 
 
@@ -22,24 +19,12 @@ public class EnergyOrbRenderHelper {
 				((CustomPlayer)AbstractDungeon.player).renderDisabledOrb(panel, sb);
 			}
 		}else {
-			Field totalCountField;
-			try {
-				totalCountField = panel.getClass().getDeclaredField("totalCount");
-				totalCountField.setAccessible(true);
-				int totalCount = totalCountField.getInt(panel);
-				if (totalCount == 0) {
-					Method renderRedOrbDisabled = panel.getClass().getDeclaredMethod("renderRedOrbDisabled", SpriteBatch.class);
-					renderRedOrbDisabled.setAccessible(true);
-					renderRedOrbDisabled.invoke(panel, sb);
-				} else {
-					Method renderRedOrb = panel.getClass().getDeclaredMethod("renderRedOrb", SpriteBatch.class);
-					renderRedOrb.setAccessible(true);
-					renderRedOrb.invoke(panel, sb);			
-				}
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}	
+			EnergyPanelAccessors.Access access = (EnergyPanelAccessors.Access) panel;
+			if (EnergyPanel.totalCount == 0) {
+				access.basemod_renderRedOrbDisabled(sb);
+			} else {
+				access.basemod_renderRedOrb(sb);
+			}
 		}
 	}
 }
@@ -1,7 +1,9 @@
 package basemod.patches.com.megacrit.cardcrawl.helpers.TipHelper;
 
+import basemod.FieldAccessor;
 import basemod.abstracts.CustomCard;
 import basemod.helpers.TooltipInfo;
+import basemod.helpers.TooltipLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
@@ -9,11 +11,7 @@ import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.helpers.FontHelper;
 import com.megacrit.cardcrawl.helpers.TipHelper;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.List;
 
 @SpirePatch(
         cls="com.megacrit.cardcrawl.helpers.TipHelper",
@@ -31,48 +29,25 @@ public class FakeKeywords
             getConstants();
         }
 
-        try {
-            Field cardField = TipHelper.class.getDeclaredField("card");
-            cardField.setAccessible(true);
-            AbstractCard acard = (AbstractCard)cardField.get(null);
-            if (acard instanceof CustomCard) {
-                CustomCard card = (CustomCard)acard;
-                List<TooltipInfo> tooltips = card.getCustomTooltips();
-                if (tooltips != null) {
-                    for (TooltipInfo tooltip : tooltips) {
-                        Field textHeight = TipHelper.class.getDeclaredField("textHeight");
-                        textHeight.setAccessible(true);
-                        float h = -FontHelper.getSmartHeight(FontHelper.tipBodyFont, tooltip.description, BODY_TEXT_WIDTH, TIP_DESC_LINE_SPACING) - 7.0f * Settings.scale;
-                        textHeight.set(null, h);
-
-                        Method renderTipBox = TipHelper.class.getDeclaredMethod("renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
-                        renderTipBox.setAccessible(true);
-                        renderTipBox.invoke(null, x, y, sb, tooltip.title, tooltip.description);
-                        y -= h + BOX_EDGE_H * 3.15f;
-                    }
-                }
+        TipHelperAccessors.Access tipHelper = TipHelperAccessors.instance;
+        AbstractCard acard = tipHelper.basemod_getCard();
+        if (acard instanceof CustomCard) {
+            CustomCard card = (CustomCard)acard;
+            TooltipLayout layout = card.getCustomTooltipLayout(FontHelper.tipBodyFont, BODY_TEXT_WIDTH, TIP_DESC_LINE_SPACING);
+            for (int i = 0; i < layout.heights.length; i++) {
+                TooltipInfo tooltip = layout.tooltips.get(i);
+                float h = -layout.heights[i] - 7.0f * Settings.scale;
+                tipHelper.basemod_setTextHeight(h);
+                tipHelper.basemod_renderTipBox(x, y, sb, tooltip.title, tooltip.description);
+                y -= h + BOX_EDGE_H * 3.15f;
             }
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | NoSuchFieldException e) {
-            e.printStackTrace();
         }
     }
 
     private static void getConstants()
     {
-        try {
-            Field f = TipHelper.class.getDeclaredField("BODY_TEXT_WIDTH");
-            f.setAccessible(true);
-            BODY_TEXT_WIDTH = f.getFloat(null);
-
-            f = TipHelper.class.getDeclaredField("TIP_DESC_LINE_SPACING");
-            f.setAccessible(true);
-            TIP_DESC_LINE_SPACING = f.getFloat(null);
-
-            f = TipHelper.class.getDeclaredField("BOX_EDGE_H");
-            f.setAccessible(true);
-            BOX_EDGE_H = f.getFloat(null);
-        } catch (IllegalAccessException | NoSuchFieldException e) {
-            e.printStackTrace();
-        }
+        BODY_TEXT_WIDTH = (Float) FieldAccessor.of(TipHelper.class, "BODY_TEXT_WIDTH").get(null);
+        TIP_DESC_LINE_SPACING = (Float) FieldAccessor.of(TipHelper.class, "TIP_DESC_LINE_SPACING").get(null);
+        BOX_EDGE_H = (Float) FieldAccessor.of(TipHelper.class, "BOX_EDGE_H").get(null);
     }
 }
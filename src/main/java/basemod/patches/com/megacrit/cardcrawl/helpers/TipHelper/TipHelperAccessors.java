@@ -0,0 +1,42 @@
+package basemod.patches.com.megacrit.cardcrawl.helpers.TipHelper;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+
+import javassist.CannotCompileException;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+
+// TipHelperAccessors - TipHelper is all static, so it implements Access and
+// its static initializer stores an instance in TipHelperAccessors.instance
+@SpirePatch(cls = "com.megacrit.cardcrawl.helpers.TipHelper", method = "renderKeywords")
+public class TipHelperAccessors {
+	public interface Access {
+		AbstractCard basemod_getCard();
+		void basemod_setTextHeight(float textHeight);
+		void basemod_renderTipBox(float x, float y, SpriteBatch sb, String title, String description);
+	}
+
+	// set once TipHelper has been loaded
+	public static Access instance = null;
+
+	private static final String[] METHODS = {
+		"public com.megacrit.cardcrawl.cards.AbstractCard basemod_getCard() { return card; }",
+		"public void basemod_setTextHeight(float textHeight) { com.megacrit.cardcrawl.helpers.TipHelper.textHeight = textHeight; }",
+		"public void basemod_renderTipBox(float x, float y, com.badlogic.gdx.graphics.g2d.SpriteBatch sb, String title, String description) {"
+			+ " renderTipBox(x, y, sb, title, description); }"
+	};
+
+	public static void Raw(CtBehavior ctMethodToPatch) throws NotFoundException, CannotCompileException {
+		CtClass ctClass = ctMethodToPatch.getDeclaringClass();
+		ctClass.addInterface(ctClass.getClassPool().get(TipHelperAccessors.class.getName() + "$Access"));
+		for (String method : METHODS) {
+			ctClass.addMethod(CtNewMethod.make(method, ctClass));
+		}
+		ctClass.makeClassInitializer().insertAfter(TipHelperAccessors.class.getName()
+				+ ".instance = new com.megacrit.cardcrawl.helpers.TipHelper();");
+	}
+}
@@ -4,10 +4,12 @@ import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.rooms.AbstractRoom;
 
 import basemod.BaseMod;
+import basemod.Subscription;
 
 @SpirePatch(cls="com.megacrit.cardcrawl.rooms.AbstractRoom", method="endBattle")
 public class EndBattleHook {
 	public static void Postfix(Object __obj_instance) {
 		BaseMod.publishPostBattle((AbstractRoom) __obj_instance);
+		BaseMod.endSubscriptionScope(Subscription.Scope.COMBAT);
 	}
 }
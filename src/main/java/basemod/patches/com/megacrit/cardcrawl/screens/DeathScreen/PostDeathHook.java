@@ -7,5 +7,6 @@ import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 public class PostDeathHook {
     public static void Postfix(Object __obj_instance, Object __monster_group) {
         BaseMod.publishPostDeath();
+        BaseMod.endRunSubscriptionScopes();
     }
 }
@@ -37,22 +37,40 @@ public class OpenFix
     	cls="com.megacrit.cardcrawl.screens.SingleCardViewPopup",
     	method="open"
     )
-    public static class OpenTextureFix
-    {
-    	public static void Postfix(Object __obj_instance, Object cardObj, Object groupObj)
-    	{
-    		AbstractCard card = (AbstractCard) cardObj;
-    		SingleCardViewPopup popup = (SingleCardViewPopup) __obj_instance;
-    		Field portraitImageField;
-			try {
-				portraitImageField = popup.getClass().getDeclaredField("portraitImg");
-	    		portraitImageField.setAccessible(true);
-	    		if (portraitImageField.get(popup) == null && card instanceof CustomCard) {
-	    			portraitImageField.set(popup, CustomCard.getPortraitImage((CustomCard) card));
-	    		}
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				e.printStackTrace();
-			}
-    	}
-    }
-}
\ No newline at end of file
+    public static class OpenTextureFix
+    {
+        private static final FieldAccessor portraitImg = FieldAccessor.of(SingleCardViewPopup.class, "portraitImg");
+
+        public static void Postfix(Object __obj_instance, Object cardObj, Object groupObj)
+        {
+            AbstractCard card = (AbstractCard) cardObj;
+            if (card instanceof CustomCard && portraitImg.get(__obj_instance) == null) {
+                portraitImg.set(__obj_instance, LargePortraitCache.get((CustomCard) card));
+            }
+        }
+    }
+
+    // the popup disposes its portrait when it closes or changes card, which
+    // must not happen to portraits owned by LargePortraitCache
+    @SpirePatch(
+        cls="com.megacrit.cardcrawl.screens.SingleCardViewPopup",
+        method="close"
+    )
+    public static class KeepCachedPortrait
+    {
+        public static void Raw(CtBehavior ctMethodToPatch) throws CannotCompileException
+        {
+            for (CtBehavior behavior : ctMethodToPatch.getDeclaringClass().getDeclaredBehaviors()) {
+                behavior.instrument(new ExprEditor() {
+                    @Override
+                    public void edit(MethodCall m) throws CannotCompileException
+                    {
+                        if (m.getClassName().equals("com.badlogic.gdx.graphics.Texture") && m.getMethodName().equals("dispose")) {
+                            m.replace("if (!basemod.LargePortraitCache.isCached($0)) { $_ = $proceed($$); }");
+                        }
+                    }
+                });
+            }
+        }
+    }
+}
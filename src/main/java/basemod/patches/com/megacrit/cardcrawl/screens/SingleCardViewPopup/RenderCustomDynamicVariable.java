@@ -1,6 +1,9 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
 import basemod.BaseMod;
+import basemod.DynamicValueCache;
+import basemod.DescriptionPlan;
+import basemod.FieldAccessor;
 import basemod.abstracts.DynamicVariable;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -18,10 +21,6 @@ import javassist.expr.MethodCall;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Field;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 @SpirePatch(
         cls="com.megacrit.cardcrawl.screens.SingleCardViewPopup",
         method="renderDescription"
@@ -56,57 +55,42 @@ public class RenderCustomDynamicVariable
     {
         private static Logger logger = LogManager.getLogger();
         private static final GlyphLayout gl = new GlyphLayout();
+        private static final StringBuilder stringBuilder = new StringBuilder();
+        private static final FieldAccessor cardField = FieldAccessor.of(SingleCardViewPopup.class, "card");
+        private static final FieldAccessor currentXField = FieldAccessor.of(SingleCardViewPopup.class, "current_x");
+        private static final FieldAccessor currentYField = FieldAccessor.of(SingleCardViewPopup.class, "current_y");
 
         public static float myRenderDynamicVariable(Object __obj_instance, String key, char ckey, float start_x, float draw_y, int i, BitmapFont font, SpriteBatch sb, Character cend)
         {
             SingleCardViewPopup __instance = (SingleCardViewPopup) __obj_instance;
 
             // Get any private variables we need
-            AbstractCard card;
-            float current_x;
-            float current_y;
-            try {
-                Field f = SingleCardViewPopup.class.getDeclaredField("card");
-                f.setAccessible(true);
-                card = (AbstractCard) f.get(__instance);
-
-                f = SingleCardViewPopup.class.getDeclaredField("current_x");
-                f.setAccessible(true);
-                current_x = f.getFloat(__instance);
-
-                f = SingleCardViewPopup.class.getDeclaredField("current_y");
-                f.setAccessible(true);
-                current_y = f.getFloat(__instance);
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                e.printStackTrace();
-                return 0;
-            }
+            AbstractCard card = (AbstractCard) cardField.get(__instance);
+            float current_x = (Float) currentXField.get(__instance);
+            float current_y = (Float) currentYField.get(__instance);
 
+            DescriptionPlan.Word word = DescriptionPlan.get(key);
             String end = "";
-
-            Pattern pattern = Pattern.compile("!(.+)!(.*) ");
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find()) {
-                key = matcher.group(1);
-                end = matcher.group(2);
+            if (word.kind == DescriptionPlan.Kind.DYNAMIC_VARIABLE) {
+                key = word.key;
+                end = word.end;
             }
 
             // Main body of method
-            StringBuilder stringBuilder = new StringBuilder();
             Color c = Settings.CREAM_COLOR;
             int num = 0;
-            DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+            DynamicVariable dv = word.kind == DescriptionPlan.Kind.DYNAMIC_VARIABLE ? word.getVariable() : BaseMod.cardDynamicVariableMap.get(key);
             if (dv != null) {
-                num = dv.baseValue(card);
-                if (dv.upgraded(card)) {
+                num = DynamicValueCache.baseValue(dv, card);
+                if (DynamicValueCache.upgraded(dv, card)) {
                     c = Settings.GREEN_TEXT_COLOR;
                 }
             } else {
                 logger.error("No dynamic card variable found for key \"" + key + "\"!");
             }
-            stringBuilder.append(num);
-            gl.setText(font, stringBuilder.toString());
-            FontHelper.renderRotatedText(sb, font, stringBuilder.toString(),
+            String text = DescriptionPlan.numberText(num);
+            gl.setText(font, text);
+            FontHelper.renderRotatedText(sb, font, text,
                     current_x, current_y,
                     start_x - current_x + gl.width / 2.0f,
                     i * 1.53f * -font.getCapHeight() + draw_y - current_y + -12.0f,
@@ -118,8 +102,9 @@ public class RenderCustomDynamicVariable
                         i * 1.53f * -font.getCapHeight() + draw_y - current_y + -12.0f,
                         0.0f, true, Settings.CREAM_COLOR);
             }
-            stringBuilder.append(' ');
-            gl.setText(font, stringBuilder.toString());
+            stringBuilder.setLength(0);
+            stringBuilder.append(text).append(' ');
+            gl.setText(font, stringBuilder);
             return gl.width;
         }
     }
@@ -0,0 +1,14 @@
+package basemod.patches.com.megacrit.cardcrawl.screens.mainMenu.MainMenuScreen;
+
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import basemod.BaseMod;
+
+// EndRunSubscriptions - back on the main menu no run is going on any more,
+// ends the scopes of one left by abandoning or saving and quitting
+@SpirePatch(cls="com.megacrit.cardcrawl.screens.mainMenu.MainMenuScreen", method="setMainMenuButtons")
+public class EndRunSubscriptions {
+	public static void Postfix(Object __obj_instance) {
+		BaseMod.endRunSubscriptionScopes();
+	}
+}
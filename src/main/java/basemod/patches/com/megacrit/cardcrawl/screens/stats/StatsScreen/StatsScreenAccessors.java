@@ -0,0 +1,39 @@
+package basemod.patches.com.megacrit.cardcrawl.screens.stats.StatsScreen;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+import com.megacrit.cardcrawl.screens.stats.CharStat;
+
+import javassist.CannotCompileException;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+
+// StatsScreenAccessors - makes StatsScreen implement Access so the custom
+// character stats can be rendered with a cast instead of reflection
+@SpirePatch(cls = "com.megacrit.cardcrawl.screens.stats.StatsScreen", method = "renderStatScreen")
+public class StatsScreenAccessors {
+	public interface Access {
+		float basemod_getRenderY();
+		void basemod_setRenderY(float renderY);
+		void basemod_renderHeader(SpriteBatch sb, String text);
+		void basemod_renderCharacterStats(SpriteBatch sb, CharStat stats);
+	}
+
+	private static final String[] METHODS = {
+		"public float basemod_getRenderY() { return renderY; }",
+		"public void basemod_setRenderY(float renderY) { this.renderY = renderY; }",
+		"public void basemod_renderHeader(com.badlogic.gdx.graphics.g2d.SpriteBatch sb, String text) { renderHeader(sb, text); }",
+		"public void basemod_renderCharacterStats(com.badlogic.gdx.graphics.g2d.SpriteBatch sb, com.megacrit.cardcrawl.screens.stats.CharStat stats) {"
+			+ " renderCharacterStats(sb, stats); }"
+	};
+
+	public static void Raw(CtBehavior ctMethodToPatch) throws NotFoundException, CannotCompileException {
+		CtClass ctClass = ctMethodToPatch.getDeclaringClass();
+		ctClass.addInterface(ctClass.getClassPool().get(StatsScreenAccessors.class.getName() + "$Access"));
+		for (String method : METHODS) {
+			ctClass.addMethod(CtNewMethod.make(method, ctClass));
+		}
+	}
+}
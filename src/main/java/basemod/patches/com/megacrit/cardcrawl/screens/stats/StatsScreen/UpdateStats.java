@@ -1,8 +1,6 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.stats.StatsScreen;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,29 +41,14 @@ public class UpdateStats {
 	@SpirePatch(cls="com.megacrit.cardcrawl.screens.stats.StatsScreen", method="renderStatScreen")
 	public static class Render {
 		public static void Postfix(Object __obj_instance, Object sbObj) {
-			StatsScreen screen = (StatsScreen) __obj_instance;
+			StatsScreenAccessors.Access screen = (StatsScreenAccessors.Access) __obj_instance;
 			SpriteBatch sb = (SpriteBatch) sbObj;
 			
-			try {
-				Field renderYField = screen.getClass().getDeclaredField("renderY");
-				renderYField.setAccessible(true);
-				
-				Method renderHeader = screen.getClass().getDeclaredMethod("renderHeader", sb.getClass(), String.class);
-				renderHeader.setAccessible(true);
-				
-				Method renderCharacterStats = screen.getClass().getDeclaredMethod("renderCharacterStats", sb.getClass(), CharStat.class);
-				renderCharacterStats.setAccessible(true);
-				
-				for (String playerClass : BaseMod.playerStatsMap.keySet()) {
-					CharStat stats = BaseMod.playerStatsMap.get(playerClass);
-					renderYField.set(screen, renderYField.getFloat(screen) - 400.0F * Settings.scale);
-					renderHeader.invoke(screen, sb, BaseMod.getTitle(playerClass));
-					renderCharacterStats.invoke(screen, sb, stats);
-				}
-			} catch (NoSuchFieldException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException e) {
-				logger.error("could not render stats for custom characters");
-				logger.error("error was: " + e.toString());
-				e.printStackTrace();
+			for (String playerClass : BaseMod.playerStatsMap.keySet()) {
+				CharStat stats = BaseMod.playerStatsMap.get(playerClass);
+				screen.basemod_setRenderY(screen.basemod_getRenderY() - 400.0F * Settings.scale);
+				screen.basemod_renderHeader(sb, BaseMod.getTitle(playerClass));
+				screen.basemod_renderCharacterStats(sb, stats);
 			}
 		}
 	}
@@ -0,0 +1,49 @@
+package basemod.patches.com.megacrit.cardcrawl.ui.panels.EnergyPanel;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+
+import javassist.CannotCompileException;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.NotFoundException;
+
+// EnergyPanelAccessors - makes EnergyPanel implement Access so custom orb
+// rendering can reach its private members with a cast instead of reflection
+@SpirePatch(cls = "com.megacrit.cardcrawl.ui.panels.EnergyPanel", method = "render")
+public class EnergyPanelAccessors {
+	public interface Access {
+		float basemod_getOrbImgScale();
+		// getAngle - layer is 1 to 5, matching the angle1 to angle5 fields
+		float basemod_getAngle(int layer);
+		void basemod_renderRedOrb(SpriteBatch sb);
+		void basemod_renderRedOrbDisabled(SpriteBatch sb);
+		void basemod_setGainEnergyImg(Texture img);
+	}
+
+	private static final String[] METHODS = {
+		"public float basemod_getOrbImgScale() { return ORB_IMG_SCALE; }",
+		"public float basemod_getAngle(int layer) {"
+			+ " switch (layer) {"
+			+ " case 1: return angle1;"
+			+ " case 2: return angle2;"
+			+ " case 3: return angle3;"
+			+ " case 4: return angle4;"
+			+ " case 5: return angle5;"
+			+ " default: return 0.0F;"
+			+ " } }",
+		"public void basemod_renderRedOrb(com.badlogic.gdx.graphics.g2d.SpriteBatch sb) { renderRedOrb(sb); }",
+		"public void basemod_renderRedOrbDisabled(com.badlogic.gdx.graphics.g2d.SpriteBatch sb) { renderRedOrbDisabled(sb); }",
+		"public void basemod_setGainEnergyImg(com.badlogic.gdx.graphics.Texture img) { gainEnergyImg = img; }"
+	};
+
+	public static void Raw(CtBehavior ctMethodToPatch) throws NotFoundException, CannotCompileException {
+		CtClass ctClass = ctMethodToPatch.getDeclaringClass();
+		ctClass.addInterface(ctClass.getClassPool().get(EnergyPanelAccessors.class.getName() + "$Access"));
+		for (String method : METHODS) {
+			ctClass.addMethod(CtNewMethod.make(method, ctClass));
+		}
+	}
+}